@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the pet lookups of {@link Owner}, which scan the owner's pets. Each
+ * lookup asks for the last pet, the worst case of the scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerBenchmarks {
+
+	@Param({ "1", "10", "100", "1000", "5000" })
+	private int pets;
+
+	private Owner owner;
+
+	private String lastName;
+
+	private Integer lastId;
+
+	@Setup
+	public void setup() {
+		this.owner = new Owner();
+		for (int i = 1; i <= this.pets; i++) {
+			Pet pet = new Pet();
+			pet.setName("Pet " + i);
+			this.owner.addPet(pet);
+			pet.setId(i);
+		}
+		this.lastName = "PET " + this.pets;
+		this.lastId = this.pets;
+	}
+
+	@Benchmark
+	public Pet getPetByName() {
+		return this.owner.getPet(this.lastName, false);
+	}
+
+	@Benchmark
+	public Pet getPetByNameIgnoringNew() {
+		return this.owner.getPet(this.lastName, true);
+	}
+
+	@Benchmark
+	public Pet getPetById() {
+		return this.owner.getPet(this.lastId);
+	}
+
+}
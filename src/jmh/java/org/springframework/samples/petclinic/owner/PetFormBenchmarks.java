@@ -0,0 +1,104 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+/**
+ * Benchmarks for the per-request work of binding a pet form: parsing the pet type with
+ * {@link PetTypeFormatter} and validating the pet with {@link PetValidator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PetFormBenchmarks {
+
+	private static final String[] TYPE_NAMES = { "bird", "cat", "dog", "hamster", "lizard", "snake" };
+
+	private PetTypeFormatter formatter;
+
+	private final PetValidator validator = new PetValidator();
+
+	private Pet validPet;
+
+	private Pet invalidPet;
+
+	@Setup
+	public void setup() {
+		List<PetType> types = new ArrayList<>();
+		for (int i = 0; i < TYPE_NAMES.length; i++) {
+			PetType type = new PetType();
+			type.setId(i + 1);
+			type.setName(TYPE_NAMES[i]);
+			types.add(type);
+		}
+		PetTypeRepository repository = mock(PetTypeRepository.class);
+		given(repository.findPetTypes()).willReturn(types);
+		PetTypeRegistry registry = new PetTypeRegistry(repository);
+		registry.reload();
+		this.formatter = new PetTypeFormatter(registry);
+
+		this.validPet = new Pet();
+		this.validPet.setName("Leo");
+		this.validPet.setType(types.get(1));
+		this.validPet.setBirthDate(LocalDate.of(2020, 9, 7));
+		this.invalidPet = new Pet();
+	}
+
+	@Benchmark
+	public PetType parsePetType() throws ParseException {
+		return this.formatter.parse("snake", Locale.ENGLISH);
+	}
+
+	@Benchmark
+	public Errors validateValidPet() {
+		Errors errors = new BeanPropertyBindingResult(this.validPet, "pet");
+		this.validator.validate(this.validPet, errors);
+		return errors;
+	}
+
+	@Benchmark
+	public Errors validateInvalidPet() {
+		Errors errors = new BeanPropertyBindingResult(this.invalidPet, "pet");
+		this.validator.validate(this.invalidPet, errors);
+		return errors;
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.Pet;
+import org.springframework.samples.petclinic.owner.PetType;
+import org.springframework.samples.petclinic.owner.Visit;
+import org.springframework.samples.petclinic.vet.Specialty;
+import org.springframework.samples.petclinic.vet.Vet;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.IWebExchange;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+/**
+ * Benchmarks for rendering the owner details and vet list pages with Thymeleaf, set up
+ * like the application: the same templates and messages, with template caching on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateRenderingBenchmarks {
+
+	/**
+	 * The number of pets of the owner, and of vets on the vet list.
+	 */
+	@Param({ "1", "10", "50" })
+	private int rows;
+
+	private SpringTemplateEngine engine;
+
+	private IWebExchange exchange;
+
+	private final Map<String, Object> ownerDetails = new HashMap<>();
+
+	private final Map<String, Object> vetList = new HashMap<>();
+
+	private final StringWriter writer = new StringWriter();
+
+	@Setup
+	public void setup() {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setTemplateMode(TemplateMode.HTML);
+		resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		ResourceBundleMessageSource messages = new ResourceBundleMessageSource();
+		messages.setBasename("messages/messages");
+		messages.setDefaultEncoding(StandardCharsets.UTF_8.name());
+		this.engine = new SpringTemplateEngine();
+		this.engine.setTemplateResolver(resolver);
+		this.engine.setTemplateEngineMessageSource(messages);
+
+		MockServletContext servletContext = new MockServletContext();
+		this.exchange = JakartaServletWebApplication.buildApplication(servletContext)
+			.buildExchange(new MockHttpServletRequest(servletContext), new MockHttpServletResponse());
+
+		Owner owner = owner();
+		Map<Integer, Long> visitCounts = new HashMap<>();
+		owner.getPets().forEach((pet) -> visitCounts.put(pet.getId(), (long) pet.getVisits().size()));
+		this.ownerDetails.put("owner", owner);
+		this.ownerDetails.put("visitCounts", visitCounts);
+		this.ownerDetails.put("upcomingVisits", List.of());
+
+		this.vetList.put("listVets", vets());
+		this.vetList.put("currentPage", 1);
+		this.vetList.put("totalPages", 1);
+	}
+
+	@Benchmark
+	public int renderOwnerDetails() {
+		return render("owners/ownerDetails", this.ownerDetails);
+	}
+
+	@Benchmark
+	public int renderVetList() {
+		return render("vets/vetList", this.vetList);
+	}
+
+	private int render(String template, Map<String, Object> model) {
+		this.writer.getBuffer().setLength(0);
+		this.engine.process(template, new WebContext(this.exchange, Locale.ENGLISH, model), this.writer);
+		return this.writer.getBuffer().length();
+	}
+
+	private Owner owner() {
+		Owner owner = new Owner();
+		owner.setId(1);
+		owner.setFirstName("George");
+		owner.setLastName("Franklin");
+		owner.setAddress("110 W. Liberty St.");
+		owner.setCity("Madison");
+		owner.setTelephone("6085551023");
+		PetType cat = new PetType();
+		cat.setId(1);
+		cat.setName("cat");
+		for (int i = 1; i <= this.rows; i++) {
+			Pet pet = new Pet();
+			pet.setName("Pet " + i);
+			pet.setBirthDate(LocalDate.of(2020, 1, 1).plusDays(i));
+			pet.setType(cat);
+			owner.addPet(pet);
+			pet.setId(i);
+			for (int j = 1; j <= 2; j++) {
+				Visit visit = new Visit();
+				visit.setDate(LocalDate.of(2024, j, i % 28 + 1));
+				visit.setDescription("checkup " + j);
+				pet.addVisit(visit);
+			}
+		}
+		return owner;
+	}
+
+	private List<Vet> vets() {
+		Specialty radiology = new Specialty();
+		radiology.setId(1);
+		radiology.setName("radiology");
+		Specialty surgery = new Specialty();
+		surgery.setId(2);
+		surgery.setName("surgery");
+		List<Vet> vets = new ArrayList<>();
+		for (int i = 1; i <= this.rows; i++) {
+			Vet vet = new Vet();
+			vet.setId(i);
+			vet.setFirstName("Vet");
+			vet.setLastName("Number " + i);
+			if (i % 2 == 0) {
+				vet.addSpecialty(radiology);
+			}
+			if (i % 3 == 0) {
+				vet.addSpecialty(surgery);
+			}
+			vets.add(vet);
+		}
+		return vets;
+	}
+
+}
@@ -26,6 +26,14 @@ import org.jspecify.annotations.Nullable;
 /**
  * Simple JavaBean domain object with an id property. Used as a base class for objects
  * needing this property.
+ * <p>
+ * Ids come from one pooled sequence per entity (named after its table, for example
+ * {@code owners_seq}), so Hibernate hands out a block of ids per round trip and can batch
+ * inserts, which it cannot do with identity columns. Databases without sequences, like
+ * MySQL, emulate them with a table of the same name. The MySQL and PostgreSQL schema
+ * scripts move every sequence past the highest id already in its table, so a database
+ * that predates the sequences does not hand out ids that are taken.
+ * </p>
  *
  * @author Ken Krebs
  * @author Juergen Hoeller
@@ -34,7 +42,7 @@ import org.jspecify.annotations.Nullable;
 public class BaseEntity implements Serializable {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE)
 	private @Nullable Integer id;
 
 	public @Nullable Integer getId() {
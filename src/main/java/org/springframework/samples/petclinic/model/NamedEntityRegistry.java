@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.model;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory registry of reference data such as pet types or specialties that almost never
+ * changes. All entities are loaded once at startup into an immutable snapshot indexed by
+ * id and by name, so lookups cost no database query.
+ * <p>
+ * When an entity of the registered type is saved or deleted through its repository, the
+ * registry is reloaded after the transaction commits and the new snapshot replaces the
+ * old one in a single write; readers always see either the old or the new data, never a
+ * mix. The entities are shared between threads and must be treated as read-only.
+ *
+ * @param <T> the type of the reference data
+ */
+public class NamedEntityRegistry<T extends NamedEntity> implements SmartInitializingSingleton {
+
+	private final Class<T> type;
+
+	private final Supplier<? extends Collection<T>> loader;
+
+	private volatile Snapshot<T> snapshot = new Snapshot<>(List.of(), Map.of(), Map.of());
+
+	/**
+	 * Create a registry for the given type.
+	 * @param type the type of the reference data
+	 * @param loader supplies all entities of the type from the data store, ordered by
+	 * name
+	 */
+	protected NamedEntityRegistry(Class<T> type, Supplier<? extends Collection<T>> loader) {
+		this.type = type;
+		this.loader = loader;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		reload();
+	}
+
+	/**
+	 * Replace the content of the registry with the entities currently stored in the data
+	 * store.
+	 */
+	public void reload() {
+		List<T> all = List.copyOf(this.loader.get());
+		Map<Integer, T> byId = new HashMap<>();
+		Map<String, T> byName = new HashMap<>();
+		for (T entity : all) {
+			Integer id = entity.getId();
+			if (id != null) {
+				byId.put(id, entity);
+			}
+			String name = entity.getName();
+			if (name != null) {
+				byName.put(name, entity);
+			}
+		}
+		this.snapshot = new Snapshot<>(all, Map.copyOf(byId), Map.copyOf(byName));
+	}
+
+	/**
+	 * Reload once the transaction that changed reference data of the registered type has
+	 * committed.
+	 * @param event the change
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onChanged(ReferenceDataChangedEvent event) {
+		if (event.type() == this.type) {
+			reload();
+		}
+	}
+
+	/**
+	 * Return all entities ordered by name.
+	 * @return an immutable list of the entities
+	 */
+	public List<T> getAll() {
+		return this.snapshot.all();
+	}
+
+	/**
+	 * Look up an entity by id.
+	 * @param id the id of the entity
+	 * @return the entity, or {@code null} if there is none with that id
+	 */
+	public @Nullable T findById(Integer id) {
+		return this.snapshot.byId().get(id);
+	}
+
+	/**
+	 * Look up an entity by its exact name.
+	 * @param name the name of the entity
+	 * @return the entity, or {@code null} if there is none with that name
+	 */
+	public @Nullable T findByName(String name) {
+		return this.snapshot.byName().get(name);
+	}
+
+	private record Snapshot<T>(List<T> all, Map<Integer, T> byId, Map<String, T> byName) {
+
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.model;
+
+/**
+ * Strategies for navigating long result lists.
+ */
+public enum PaginationMode {
+
+	/**
+	 * Numbered pages backed by an offset query plus a count query. Deep pages get slower
+	 * as the database skips more rows.
+	 */
+	PAGE,
+
+	/**
+	 * Previous/next navigation over numbered pages without a count query: one row more
+	 * than the page size is fetched to find out whether a next page exists. Still an
+	 * offset query, but broad searches no longer pay for counting every match.
+	 */
+	SLICE,
+
+	/**
+	 * First/next navigation that continues after the last row shown (keyset or seek
+	 * pagination). Every page costs the same as the first one, but there is no total.
+	 */
+	KEYSET
+
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.model;
+
+/**
+ * Domain event published by a repository whenever reference data of the given type is
+ * saved or deleted, so that the matching {@link NamedEntityRegistry} can reload.
+ *
+ * @param type the type of the changed reference data
+ */
+public record ReferenceDataChangedEvent(Class<? extends NamedEntity> type) {
+
+}
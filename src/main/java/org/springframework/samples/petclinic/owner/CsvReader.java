@@ -0,0 +1,193 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Minimal streaming reader for comma separated values. Fields may be enclosed in double
+ * quotes to contain commas, line breaks or doubled double quotes. Only the row being read
+ * is held in memory, and it is bounded: a field or row longer than the limits, typically
+ * the rest of the file after a quote left open, or a quote still open at the end of the
+ * input, fails with a {@link MalformedRowException}, after which reading resumes on the
+ * next line.
+ */
+class CsvReader {
+
+	/**
+	 * The default maximum number of characters of a field.
+	 */
+	static final int MAX_FIELD_LENGTH = 1024;
+
+	/**
+	 * The default maximum number of characters of a row, separators included.
+	 */
+	static final int MAX_ROW_LENGTH = 8192;
+
+	private final BufferedReader reader;
+
+	private final int maxFieldLength;
+
+	private final int maxRowLength;
+
+	private long line;
+
+	private long nextLine = 1;
+
+	CsvReader(Reader reader) {
+		this(reader, MAX_FIELD_LENGTH, MAX_ROW_LENGTH);
+	}
+
+	CsvReader(Reader reader, int maxFieldLength, int maxRowLength) {
+		this.reader = (reader instanceof BufferedReader buffered) ? buffered : new BufferedReader(reader);
+		this.maxFieldLength = maxFieldLength;
+		this.maxRowLength = maxRowLength;
+	}
+
+	/**
+	 * Read the next row.
+	 * @return the fields of the row, or {@code null} at the end of the input
+	 * @throws MalformedRowException if the row is too long or its last quote is never
+	 * closed; the next call reads on from the following line
+	 */
+	@Nullable List<String> readRow() throws IOException {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		boolean empty = true;
+		int length = 0;
+		this.line = this.nextLine;
+		int c;
+		while ((c = this.reader.read()) != -1) {
+			empty = false;
+			length++;
+			if (quoted) {
+				if (c == '"') {
+					this.reader.mark(1);
+					int next = this.reader.read();
+					if (next == '"') {
+						field.append('"');
+					}
+					else {
+						quoted = false;
+						if (next != -1) {
+							this.reader.reset();
+						}
+					}
+				}
+				else {
+					if (c == '\n') {
+						this.nextLine++;
+					}
+					field.append((char) c);
+				}
+			}
+			else if (c == '"') {
+				quoted = true;
+			}
+			else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else if (c == '\n') {
+				this.nextLine++;
+				fields.add(field.toString());
+				return fields;
+			}
+			else if (c != '\r') {
+				field.append((char) c);
+			}
+			if (length > this.maxRowLength) {
+				throw tooLong("row longer than " + this.maxRowLength + " characters", quoted, c);
+			}
+			if (field.length() > this.maxFieldLength) {
+				throw tooLong("field longer than " + this.maxFieldLength + " characters", quoted, c);
+			}
+		}
+		if (empty) {
+			return null;
+		}
+		if (quoted) {
+			throw new MalformedRowException(this.line, "quote left open at the end of the file");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	/**
+	 * Skip the rest of the current line, unless the last character read ended it, and
+	 * describe why the row was given up.
+	 */
+	private MalformedRowException tooLong(String limit, boolean quoted, int last) throws IOException {
+		if (last != '\n') {
+			int c;
+			do {
+				c = this.reader.read();
+			}
+			while (c != '\n' && c != -1);
+			if (c == '\n') {
+				this.nextLine++;
+			}
+		}
+		return new MalformedRowException(this.line, quoted ? limit + ", is a quote left open?" : limit);
+	}
+
+	/**
+	 * Return the number of the line the last row read started on, counting from 1.
+	 */
+	long getLine() {
+		return this.line;
+	}
+
+	/**
+	 * Thrown when a row cannot be read. The reader has skipped the rest of the line the
+	 * problem was found on, so reading may continue.
+	 */
+	static class MalformedRowException extends IOException {
+
+		private final long line;
+
+		private final String reason;
+
+		MalformedRowException(long line, String reason) {
+			super("Line " + line + ": " + reason);
+			this.line = line;
+			this.reason = reason;
+		}
+
+		/**
+		 * Return the number of the line the row started on.
+		 */
+		long getLine() {
+			return this.line;
+		}
+
+		/**
+		 * Return why the row could not be read, without the line number.
+		 */
+		String getReason() {
+			return this.reason;
+		}
+
+	}
+
+}
@@ -16,21 +16,31 @@
 package org.springframework.samples.petclinic.owner;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.core.style.ToStringCreator;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import org.springframework.samples.petclinic.model.Person;
 import org.springframework.util.Assert;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.NotBlank;
 import org.jspecify.annotations.Nullable;
@@ -47,6 +57,7 @@ import org.jspecify.annotations.Nullable;
  */
 @Entity
 @Table(name = "owners")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "owners")
 public class Owner extends Person {
 
 	@Column(name = "address")
@@ -62,10 +73,24 @@ public class Owner extends Person {
 	@Pattern(regexp = "\\d{10}", message = "{telephone.invalid}")
 	private @Nullable String telephone;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-	@JoinColumn(name = "owner_id")
+	@OneToMany(cascade = CascadeType.ALL)
+	@JoinColumn(name = "owner_id", nullable = false)
 	@OrderBy("name")
-	private final List<Pet> pets = new ArrayList<>();
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "owner-pets")
+	private final Set<Pet> pets = new LinkedHashSet<>();
+
+	/**
+	 * The last name as it was stored, so that a rename can be announced with both names.
+	 */
+	@Transient
+	private @Nullable String storedLastName;
+
+	/**
+	 * List view of and lookup tables over the pets, built on first use and dropped when
+	 * they no longer match the pets.
+	 */
+	@Transient
+	private @Nullable PetIndex petIndex;
 
 	public @Nullable String getAddress() {
 		return this.address;
@@ -91,13 +116,22 @@ public class Owner extends Person {
 		this.telephone = telephone;
 	}
 
+	/**
+	 * Return the pets of this owner, ordered by name. The pets are mapped as a set so
+	 * that they can be join-fetched together with their visits without repeating a pet
+	 * for each of its visits. The returned list is a read-only view that is kept with the
+	 * pet index, so repeated calls do not copy the pets; add pets with
+	 * {@link #addPet(Pet)}.
+	 * @return the pets of this owner
+	 */
 	public List<Pet> getPets() {
-		return this.pets;
+		return petIndex().view;
 	}
 
 	public void addPet(Pet pet) {
-		if (pet.isNew()) {
-			getPets().add(pet);
+		if (pet.isNew() && this.pets.add(pet) && this.petIndex != null) {
+			this.petIndex.add(pet);
+			pet.setIndexedBy(this);
 		}
 	}
 
@@ -116,15 +150,7 @@ public class Owner extends Person {
 	 * @return the Pet with the given id, or null if no such Pet exists for this Owner
 	 */
 	public @Nullable Pet getPet(Integer id) {
-		for (Pet pet : getPets()) {
-			if (!pet.isNew()) {
-				Integer compId = pet.getId();
-				if (Objects.equals(compId, id)) {
-					return pet;
-				}
-			}
-		}
-		return null;
+		return petIndex().byId.get(id);
 	}
 
 	/**
@@ -134,15 +160,27 @@ public class Owner extends Person {
 	 * @return the Pet with the given name, or null if no such Pet exists for this Owner
 	 */
 	public @Nullable Pet getPet(String name, boolean ignoreNew) {
-		for (Pet pet : getPets()) {
-			String compName = pet.getName();
-			if (compName != null && compName.equalsIgnoreCase(name)) {
-				if (!ignoreNew || !pet.isNew()) {
-					return pet;
-				}
+		PetIndex index = petIndex();
+		return (ignoreNew ? index.savedByName : index.byName).get(PetIndex.key(name));
+	}
+
+	/**
+	 * Drop the pet index after a pet was renamed.
+	 */
+	void petRenamed() {
+		this.petIndex = null;
+	}
+
+	private PetIndex petIndex() {
+		PetIndex index = this.petIndex;
+		if (index == null || index.isStale(this.pets)) {
+			index = new PetIndex(this.pets);
+			for (Pet pet : this.pets) {
+				pet.setIndexedBy(this);
 			}
+			this.petIndex = index;
 		}
-		return null;
+		return index;
 	}
 
 	@Override
@@ -174,4 +212,102 @@ public class Owner extends Person {
 		pet.addVisit(visit);
 	}
 
+	@PostLoad
+	void rememberStoredLastName() {
+		this.storedLastName = getLastName();
+		this.petIndex = null;
+	}
+
+	/**
+	 * Announces every save of this owner so that derived read models (such as the
+	 * {@link OwnerSearchIndex}) can follow changes without polling the database.
+	 * @return the events to publish after a repository save
+	 */
+	@DomainEvents
+	Collection<OwnerSavedEvent> domainEvents() {
+		return List.of(new OwnerSavedEvent(this, this.storedLastName));
+	}
+
+	@AfterDomainEventPublication
+	void domainEventsPublished() {
+		rememberStoredLastName();
+	}
+
+	/**
+	 * The pets of an owner as a list and by id and by name, so that listing the pets does
+	 * not copy them and looking up a pet does not scan all of them. Names are keyed
+	 * case-insensitively, with the same per-character comparison as
+	 * {@link String#equalsIgnoreCase(String)}, and each key maps to the first matching
+	 * pet in iteration order, as a scan would find it. Pets that are added through
+	 * {@link Owner#addPet(Pet)} are indexed as they come; the index is rebuilt when the
+	 * pet collection is replaced or changed behind its back, when a pet is renamed, and
+	 * when a new pet gets its id on save.
+	 */
+	private static final class PetIndex {
+
+		private final Set<Pet> source;
+
+		private int size;
+
+		private final Map<Integer, Pet> byId = new HashMap<>();
+
+		private final Map<String, Pet> byName = new HashMap<>();
+
+		private final Map<String, Pet> savedByName = new HashMap<>();
+
+		private final List<Pet> newPets = new ArrayList<>();
+
+		private final List<Pet> ordered;
+
+		private final List<Pet> view;
+
+		private PetIndex(Set<Pet> pets) {
+			this.ordered = new ArrayList<>(pets.size());
+			this.view = Collections.unmodifiableList(this.ordered);
+			this.source = pets;
+			for (Pet pet : pets) {
+				add(pet);
+			}
+		}
+
+		private void add(Pet pet) {
+			this.size++;
+			this.ordered.add(pet);
+			Integer id = pet.getId();
+			if (id == null) {
+				this.newPets.add(pet);
+			}
+			else {
+				this.byId.putIfAbsent(id, pet);
+			}
+			String name = pet.getName();
+			if (name != null) {
+				String key = key(name);
+				this.byName.putIfAbsent(key, pet);
+				if (id != null) {
+					this.savedByName.putIfAbsent(key, pet);
+				}
+			}
+		}
+
+		private boolean isStale(Set<Pet> pets) {
+			if (pets != this.source || pets.size() != this.size) {
+				return true;
+			}
+			for (Pet pet : this.newPets) {
+				if (!pet.isNew()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static String key(String name) {
+			StringBuilder key = new StringBuilder(name.length());
+			name.codePoints().forEach((c) -> key.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+			return key.toString();
+		}
+
+	}
+
 }
@@ -15,13 +15,22 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.samples.petclinic.model.PaginationMode;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -51,10 +60,29 @@ class OwnerController {
 
 	private static final String VIEWS_OWNER_CREATE_OR_UPDATE_FORM = "owners/createOrUpdateOwnerForm";
 
+	private static final int PAGE_SIZE = 5;
+
 	private final OwnerRepository owners;
 
-	public OwnerController(OwnerRepository owners) {
+	private final UnknownOwnerIds unknownOwners;
+
+	private final OwnerDetailsService ownerDetails;
+
+	private final @Nullable OwnerSearchIndex searchIndex;
+
+	private final @Nullable OwnerSearchCache searchCache;
+
+	private final PaginationMode pagination;
+
+	public OwnerController(OwnerRepository owners, UnknownOwnerIds unknownOwners, OwnerDetailsService ownerDetails,
+			ObjectProvider<OwnerSearchIndex> searchIndex, ObjectProvider<OwnerSearchCache> searchCache,
+			@Value("${petclinic.owners.pagination:page}") PaginationMode pagination) {
 		this.owners = owners;
+		this.unknownOwners = unknownOwners;
+		this.ownerDetails = ownerDetails;
+		this.searchIndex = searchIndex.getIfAvailable();
+		this.searchCache = searchCache.getIfAvailable();
+		this.pagination = pagination;
 	}
 
 	@InitBinder
@@ -64,10 +92,7 @@ class OwnerController {
 
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable(name = "ownerId", required = false) @Nullable Integer ownerId) {
-		return ownerId == null ? new Owner()
-				: this.owners.findById(ownerId)
-					.orElseThrow(() -> new IllegalArgumentException("Owner not found with id: " + ownerId
-							+ ". Please ensure the ID is correct " + "and the owner exists in the database."));
+		return ownerId == null ? new Owner() : this.unknownOwners.findOwner(ownerId, this.owners::findById);
 	}
 
 	@GetMapping("/owners/new")
@@ -93,14 +118,22 @@ class OwnerController {
 	}
 
 	@GetMapping("/owners")
-	public String processFindForm(@RequestParam(defaultValue = "1") int page, Owner owner, BindingResult result,
-			Model model) {
+	public String processFindForm(@RequestParam(defaultValue = "1") int page,
+			@RequestParam(required = false) @Nullable String afterName,
+			@RequestParam(required = false) @Nullable Integer afterId, Owner owner, BindingResult result, Model model) {
 		// allow parameterless GET request for /owners to return all records
 		String lastName = owner.getLastName();
 		if (lastName == null) {
 			lastName = ""; // empty string signifies broadest possible search
 		}
 
+		if (this.pagination == PaginationMode.KEYSET) {
+			return processFindFormByKeyset(lastName, afterName, afterId, result, model);
+		}
+		if (this.pagination == PaginationMode.SLICE) {
+			return processFindFormBySlice(page, lastName, result, model);
+		}
+
 		// find owners by last name
 		Page<Owner> ownersResults = findPaginatedForOwnersLastName(page, lastName);
 		if (ownersResults.isEmpty()) {
@@ -125,12 +158,110 @@ class OwnerController {
 		model.addAttribute("totalPages", paginated.getTotalPages());
 		model.addAttribute("totalItems", paginated.getTotalElements());
 		model.addAttribute("listOwners", listOwners);
+		addPetNames(model, listOwners);
+		return "owners/ownersList";
+	}
+
+	/**
+	 * Adds the names of the pets of the listed owners to the model, so the list view does
+	 * not need to initialize the pets of every owner.
+	 */
+	private void addPetNames(Model model, List<Owner> listOwners) {
+		Map<Integer, List<String>> petNames = new LinkedHashMap<>();
+		for (Owner owner : listOwners) {
+			Integer id = owner.getId();
+			if (id != null) {
+				petNames.put(id, new ArrayList<>());
+			}
+		}
+		if (!petNames.isEmpty()) {
+			for (OwnerRepository.PetName petName : this.owners.findPetNamesByOwnerIdIn(petNames.keySet())) {
+				List<String> names = petNames.get(petName.getOwnerId());
+				String name = petName.getName();
+				if (names != null && name != null) {
+					names.add(name);
+				}
+			}
+		}
+		model.addAttribute("petNames", petNames);
+	}
+
+	/**
+	 * Slice variant of the owner search: skips the count query and only links to the
+	 * previous and next pages.
+	 */
+	private String processFindFormBySlice(int page, String lastName, BindingResult result, Model model) {
+		Slice<Owner> ownersResults = this.owners.findSliceByLastNameStartingWith(lastName,
+				PageRequest.of(page - 1, PAGE_SIZE));
+		if (ownersResults.isEmpty()) {
+			// no owners found
+			result.rejectValue("lastName", "notFound", "not found");
+			return "owners/findOwners";
+		}
+
+		List<Owner> listOwners = ownersResults.getContent();
+		if (ownersResults.isFirst() && listOwners.size() == 1 && !ownersResults.hasNext()) {
+			// 1 owner found
+			return "redirect:/owners/" + listOwners.get(0).getId();
+		}
+
+		// multiple owners found
+		model.addAttribute("slice", true);
+		model.addAttribute("currentPage", page);
+		model.addAttribute("hasNext", ownersResults.hasNext());
+		model.addAttribute("listOwners", listOwners);
+		addPetNames(model, listOwners);
+		return "owners/ownersList";
+	}
+
+	/**
+	 * Keyset variant of the owner search: shows the owners following the one identified
+	 * by {@code afterName} and {@code afterId}, and links to the next window instead of
+	 * numbered pages.
+	 */
+	private String processFindFormByKeyset(String lastName, @Nullable String afterName, @Nullable Integer afterId,
+			BindingResult result, Model model) {
+		boolean firstWindow = afterName == null || afterId == null;
+		ScrollPosition position = ScrollPosition.keyset();
+		if (afterName != null && afterId != null) {
+			position = ScrollPosition.forward(Map.of("lastName", afterName, "id", afterId));
+		}
+
+		Window<Owner> ownersResults = this.owners.findByLastNameStartingWithOrderByLastNameAscIdAsc(lastName, position,
+				Limit.of(PAGE_SIZE));
+		if (ownersResults.isEmpty()) {
+			// no owners found
+			result.rejectValue("lastName", "notFound", "not found");
+			return "owners/findOwners";
+		}
+
+		List<Owner> listOwners = ownersResults.getContent();
+		if (firstWindow && listOwners.size() == 1 && !ownersResults.hasNext()) {
+			// 1 owner found
+			return "redirect:/owners/" + listOwners.get(0).getId();
+		}
+
+		// multiple owners found
+		model.addAttribute("keyset", true);
+		model.addAttribute("firstWindow", firstWindow);
+		model.addAttribute("listOwners", listOwners);
+		addPetNames(model, listOwners);
+		if (ownersResults.hasNext()) {
+			Owner last = listOwners.get(listOwners.size() - 1);
+			model.addAttribute("nextAfterName", last.getLastName());
+			model.addAttribute("nextAfterId", last.getId());
+		}
 		return "owners/ownersList";
 	}
 
 	private Page<Owner> findPaginatedForOwnersLastName(int page, String lastname) {
-		int pageSize = 5;
-		Pageable pageable = PageRequest.of(page - 1, pageSize);
+		Pageable pageable = PageRequest.of(page - 1, PAGE_SIZE);
+		if (this.searchIndex != null) {
+			return this.searchIndex.findByLastNameStartingWith(lastname, pageable);
+		}
+		if (this.searchCache != null) {
+			return this.searchCache.findByLastNameStartingWith(lastname, pageable);
+		}
 		return owners.findByLastNameStartingWith(lastname, pageable);
 	}
 
@@ -167,10 +298,10 @@ class OwnerController {
 	@GetMapping("/owners/{ownerId}")
 	public ModelAndView showOwner(@PathVariable("ownerId") int ownerId) {
 		ModelAndView mav = new ModelAndView("owners/ownerDetails");
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		mav.addObject(owner);
+		OwnerDetails details = this.ownerDetails.load(ownerId);
+		mav.addObject(details.owner());
+		mav.addObject("visitCounts", details.visitCounts());
+		mav.addObject("upcomingVisits", details.upcomingVisits());
 		return mav;
 	}
 
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Everything shown on the owner details page.
+ *
+ * @param owner the owner, with its pets and their visits
+ * @param visitCounts the number of visits of each pet, by pet id
+ * @param upcomingVisits the visits due today or later, soonest first
+ */
+public record OwnerDetails(Owner owner, Map<Integer, Long> visitCounts, List<UpcomingVisit> upcomingVisits) {
+
+	/**
+	 * A visit of one of the owner's pets that is due today or later.
+	 *
+	 * @param petId the id of the pet
+	 * @param petName the name of the pet
+	 * @param date the day of the visit
+	 * @param description the description of the visit
+	 */
+	public record UpcomingVisit(Integer petId, @Nullable String petName, LocalDate date, @Nullable String description) {
+
+	}
+
+}
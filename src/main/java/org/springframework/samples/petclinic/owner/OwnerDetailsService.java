@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.samples.petclinic.owner.OwnerDetails.UpcomingVisit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Assembles the {@link OwnerDetails} shown on the owner details page. The owner aggregate
+ * is read through the second-level cache with all of its pets and visits, so the visit
+ * counts and the upcoming visits are derived from it in memory rather than queried again.
+ * Ids already known not to exist fail without a query. Pet types come from the
+ * {@link PetTypeRegistry} and need no read at all.
+ */
+@Service
+public class OwnerDetailsService {
+
+	private static final Comparator<UpcomingVisit> SOONEST_FIRST = Comparator.comparing(UpcomingVisit::date)
+		.thenComparing(UpcomingVisit::petName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+	private final OwnerRepository owners;
+
+	private final UnknownOwnerIds unknownOwners;
+
+	private final Clock clock;
+
+	@Autowired
+	public OwnerDetailsService(OwnerRepository owners, UnknownOwnerIds unknownOwners) {
+		this(owners, unknownOwners, Clock.systemDefaultZone());
+	}
+
+	OwnerDetailsService(OwnerRepository owners, UnknownOwnerIds unknownOwners, Clock clock) {
+		this.owners = owners;
+		this.unknownOwners = unknownOwners;
+		this.clock = clock;
+	}
+
+	/**
+	 * Load the details of an owner.
+	 * @param ownerId the id of the owner
+	 * @return the owner details
+	 * @throws OwnerNotFoundException if there is no owner with the id
+	 */
+	public OwnerDetails load(int ownerId) {
+		Owner owner = this.unknownOwners.findOwner(ownerId, this.owners::findDetailsById);
+		return summarize(owner, LocalDate.now(this.clock));
+	}
+
+	private static OwnerDetails summarize(Owner owner, LocalDate today) {
+		Map<Integer, Long> visitCounts = new HashMap<>();
+		List<UpcomingVisit> upcomingVisits = new ArrayList<>();
+		for (Pet pet : owner.getPets()) {
+			Integer petId = pet.getId();
+			if (petId == null || pet.getVisits().isEmpty()) {
+				continue;
+			}
+			visitCounts.put(petId, (long) pet.getVisits().size());
+			for (Visit visit : pet.getVisits()) {
+				LocalDate date = visit.getDate();
+				if (date != null && !date.isBefore(today)) {
+					upcomingVisits.add(new UpcomingVisit(petId, pet.getName(), date, visit.getDescription()));
+				}
+			}
+		}
+		upcomingVisits.sort(SOONEST_FIRST);
+		return new OwnerDetails(owner, visitCounts, upcomingVisits);
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.samples.petclinic.owner.OwnerExportService.Format;
+import org.springframework.samples.petclinic.owner.OwnerExportService.Table;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Full table extracts of owners, pets and visits, streamed to the response as a file
+ * download, for example {@code /export/visits?format=csv&gzip=true}.
+ */
+@Controller
+class OwnerExportController {
+
+	private final OwnerExportService exporter;
+
+	public OwnerExportController(OwnerExportService exporter) {
+		this.exporter = exporter;
+	}
+
+	@GetMapping("/export/{table}")
+	public void export(@PathVariable("table") String table, @RequestParam(defaultValue = "ndjson") String format,
+			@RequestParam(defaultValue = "false") boolean gzip, HttpServletResponse response) throws IOException {
+		Table exportTable = parse(Table.class, table, HttpStatus.NOT_FOUND);
+		Format exportFormat = parse(Format.class, format, HttpStatus.BAD_REQUEST);
+
+		String filename = exportTable.name().toLowerCase(Locale.ROOT) + "." + exportFormat.getExtension();
+		if (gzip) {
+			response.setContentType("application/gzip");
+			filename += ".gz";
+		}
+		else {
+			response.setContentType(exportFormat.getContentType());
+			response.setCharacterEncoding("UTF-8");
+		}
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				ContentDisposition.attachment().filename(filename).build().toString());
+
+		OutputStream output = response.getOutputStream();
+		if (gzip) {
+			try (GZIPOutputStream compressed = new GZIPOutputStream(output, 8192)) {
+				this.exporter.export(exportTable, exportFormat, compressed);
+			}
+		}
+		else {
+			this.exporter.export(exportTable, exportFormat, output);
+		}
+	}
+
+	private static <E extends Enum<E>> E parse(Class<E> type, String value, HttpStatus status) {
+		try {
+			return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException ex) {
+			throw new ResponseStatusException(status,
+					"Unknown " + type.getSimpleName().toLowerCase(Locale.ROOT) + ": " + value);
+		}
+	}
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Exports the owners, pets and visits tables as newline delimited JSON or CSV.
+ * <p>
+ * Rows are read through a forward-only JDBC cursor, fetched
+ * {@code petclinic.export.fetch-size} at a time, and written to the output as they
+ * arrive, so memory use does not depend on the size of the table. The query runs in a
+ * read-only transaction because PostgreSQL only honours the fetch size outside of
+ * auto-commit; MySQL needs {@code useCursorFetch=true} on the connection URL.
+ * </p>
+ */
+@Service
+public class OwnerExportService {
+
+	/**
+	 * The tables that can be exported, with their columns.
+	 */
+	public enum Table {
+
+		OWNERS("SELECT id, first_name, last_name, address, city, telephone FROM owners ORDER BY id"),
+
+		PETS("SELECT id, name, birth_date, type_id, owner_id FROM pets ORDER BY id"),
+
+		VISITS("SELECT id, pet_id, visit_date, description FROM visits ORDER BY id");
+
+		private final String sql;
+
+		Table(String sql) {
+			this.sql = sql;
+		}
+
+	}
+
+	/**
+	 * The supported output formats.
+	 */
+	public enum Format {
+
+		/**
+		 * One JSON object per line, keyed by column name.
+		 */
+		NDJSON("application/x-ndjson", "ndjson"),
+
+		/**
+		 * A header row with the column names, then one row per record.
+		 */
+		CSV("text/csv", "csv");
+
+		private final String contentType;
+
+		private final String extension;
+
+		Format(String contentType, String extension) {
+			this.contentType = contentType;
+			this.extension = extension;
+		}
+
+		public String getContentType() {
+			return this.contentType;
+		}
+
+		public String getExtension() {
+			return this.extension;
+		}
+
+	}
+
+	private final JdbcClient jdbcClient;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int fetchSize;
+
+	public OwnerExportService(JdbcClient jdbcClient, PlatformTransactionManager transactionManager,
+			@Value("${petclinic.export.fetch-size:1000}") int fetchSize) {
+		this.jdbcClient = jdbcClient;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Write all rows of the given table to the output.
+	 * @param table the table to export
+	 * @param format the output format
+	 * @param output the stream to write to; it is flushed but not closed
+	 * @return the number of rows written
+	 */
+	public long export(Table table, Format format, OutputStream output) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		Long rows;
+		try {
+			rows = this.transactionTemplate.execute(status -> this.jdbcClient.sql(table.sql)
+				.withFetchSize(this.fetchSize)
+				.query((ResultSetExtractor<Long>) resultSet -> write(resultSet, format, writer)));
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+		writer.flush();
+		return (rows != null) ? rows : 0;
+	}
+
+	private long write(ResultSet resultSet, Format format, Writer writer) throws SQLException {
+		ResultSetMetaData metaData = resultSet.getMetaData();
+		int columnCount = metaData.getColumnCount();
+		String[] columns = new String[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			columns[i] = metaData.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+		}
+		long rows = 0;
+		try {
+			if (format == Format.CSV) {
+				for (int i = 0; i < columnCount; i++) {
+					writeCsvValue(writer, i, columns[i]);
+				}
+				writer.write('\n');
+			}
+			while (resultSet.next()) {
+				if (format == Format.CSV) {
+					for (int i = 0; i < columnCount; i++) {
+						writeCsvValue(writer, i, resultSet.getObject(i + 1));
+					}
+				}
+				else {
+					writer.write('{');
+					for (int i = 0; i < columnCount; i++) {
+						writeJsonField(writer, i, columns[i], resultSet.getObject(i + 1));
+					}
+					writer.write('}');
+				}
+				writer.write('\n');
+				rows++;
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return rows;
+	}
+
+	private void writeCsvValue(Writer writer, int index, @Nullable Object value) throws IOException {
+		if (index > 0) {
+			writer.write(',');
+		}
+		if (value == null) {
+			return;
+		}
+		String text = value.toString();
+		if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+			writer.write('"');
+			writer.write(text.replace("\"", "\"\""));
+			writer.write('"');
+		}
+		else {
+			writer.write(text);
+		}
+	}
+
+	private void writeJsonField(Writer writer, int index, String name, @Nullable Object value) throws IOException {
+		if (index > 0) {
+			writer.write(',');
+		}
+		writeJsonString(writer, name);
+		writer.write(':');
+		if (value == null) {
+			writer.write("null");
+		}
+		else if (value instanceof Number || value instanceof Boolean) {
+			writer.write(value.toString());
+		}
+		else {
+			writeJsonString(writer, value.toString());
+		}
+	}
+
+	private void writeJsonString(Writer writer, String text) throws IOException {
+		writer.write('"');
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '"' -> writer.write("\\\"");
+				case '\\' -> writer.write("\\\\");
+				case '\n' -> writer.write("\\n");
+				case '\r' -> writer.write("\\r");
+				case '\t' -> writer.write("\\t");
+				default -> {
+					if (c < 0x20) {
+						writer.write(String.format("\\u%04x", (int) c));
+					}
+					else {
+						writer.write(c);
+					}
+				}
+			}
+		}
+		writer.write('"');
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.List;
+
+/**
+ * Outcome of an owner import: how many rows were read, how many owners and pets were
+ * saved, and the rows that were rejected.
+ *
+ * @param rows the number of data rows read
+ * @param owners the number of owners saved
+ * @param pets the number of pets saved
+ * @param errorCount the number of rejected rows
+ * @param errors the first rejected rows, at most
+ * {@link OwnerImportService#MAX_REPORTED_ERRORS}
+ */
+public record OwnerImportResult(long rows, long owners, long pets, long errorCount, List<RowError> errors) {
+
+	/**
+	 * A rejected row.
+	 *
+	 * @param line the line of the file the row starts on
+	 * @param message why the row was rejected
+	 */
+	public record RowError(long line, String message) {
+	}
+
+}
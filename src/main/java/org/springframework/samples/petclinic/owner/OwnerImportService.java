@@ -0,0 +1,376 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.samples.petclinic.owner.CsvReader.MalformedRowException;
+import org.springframework.samples.petclinic.owner.OwnerImportResult.RowError;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports owners and their pets from a CSV file.
+ * <p>
+ * The file starts with a header row naming the columns {@code firstName},
+ * {@code lastName}, {@code address}, {@code city} and {@code telephone}, and optionally
+ * {@code petName}, {@code petBirthDate} (yyyy-MM-dd) and {@code petType}. Each row holds
+ * one pet; consecutive rows with the same owner columns belong to the same owner, and a
+ * row without a pet name adds an owner without pets.
+ * </p>
+ * <p>
+ * Rows are parsed one at a time and owners are saved in batches of
+ * {@code petclinic.owners.import.batch-size}, each in its own transaction, so neither the
+ * file nor the imported owners are ever held in memory as a whole. Owners are validated
+ * with their bean constraints and pets with the {@link PetValidator}; invalid rows are
+ * reported and skipped. A batch the database refuses, for instance because a value is too
+ * long for its column, is saved again one owner per transaction, and the owners that
+ * still fail are reported in the same way. A row whose field or total length exceeds the
+ * reader's limits, typically because a quote was never closed, is reported as malformed
+ * and the import resumes on the next line.
+ * </p>
+ */
+@Service
+public class OwnerImportService {
+
+	/**
+	 * The maximum number of rejected rows listed in an {@link OwnerImportResult}.
+	 */
+	public static final int MAX_REPORTED_ERRORS = 1000;
+
+	private static final Log logger = LogFactory.getLog(OwnerImportService.class);
+
+	private static final List<String> OWNER_COLUMNS = List.of("firstName", "lastName", "address", "city", "telephone");
+
+	private final OwnerRepository owners;
+
+	private final PetTypeRegistry types;
+
+	private final Validator validator;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int batchSize;
+
+	public OwnerImportService(OwnerRepository owners, PetTypeRegistry types, Validator validator,
+			PlatformTransactionManager transactionManager,
+			@Value("${petclinic.owners.import.batch-size:500}") int batchSize) {
+		this.owners = owners;
+		this.types = types;
+		this.validator = validator;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Import the owners and pets of the given CSV content.
+	 * @param csv the CSV content, starting with the header row
+	 * @return the outcome of the import
+	 * @throws IllegalArgumentException if the header row is missing or lacks an owner
+	 * column
+	 */
+	public OwnerImportResult importOwners(Reader csv) throws IOException {
+		CsvReader reader = new CsvReader(csv);
+		List<String> header;
+		try {
+			header = reader.readRow();
+		}
+		catch (MalformedRowException ex) {
+			throw new IllegalArgumentException("Malformed header row: " + ex.getReason());
+		}
+		if (header == null) {
+			throw new IllegalArgumentException("The file is empty");
+		}
+		Import run = new Import(header);
+		while (true) {
+			List<String> row;
+			try {
+				row = reader.readRow();
+			}
+			catch (MalformedRowException ex) {
+				run.malformed(ex.getLine(), ex.getReason());
+				continue;
+			}
+			if (row == null) {
+				break;
+			}
+			if (row.size() == 1 && row.get(0).isBlank()) {
+				continue;
+			}
+			run.read(row, reader.getLine());
+		}
+		return run.finish();
+	}
+
+	private Map<String, PetType> petTypesByName() {
+		Map<String, PetType> petTypes = new HashMap<>();
+		for (PetType type : this.types.getAll()) {
+			String name = type.getName();
+			if (name != null) {
+				petTypes.put(name.toLowerCase(Locale.ROOT), type);
+			}
+		}
+		return petTypes;
+	}
+
+	/**
+	 * State of a single import run.
+	 */
+	private final class Import {
+
+		private final Map<String, Integer> columns = new HashMap<>();
+
+		private final Map<String, PetType> petTypes = petTypesByName();
+
+		private final List<PendingOwner> batch = new ArrayList<>();
+
+		private final List<RowError> errors = new ArrayList<>();
+
+		private @Nullable List<String> currentKey;
+
+		private @Nullable Owner current;
+
+		private long currentLine;
+
+		private long rows;
+
+		private long savedOwners;
+
+		private long savedPets;
+
+		private long errorCount;
+
+		Import(List<String> header) {
+			for (int i = 0; i < header.size(); i++) {
+				this.columns.put(header.get(i).trim(), i);
+			}
+			for (String column : OWNER_COLUMNS) {
+				if (!this.columns.containsKey(column)) {
+					throw new IllegalArgumentException("Missing column: " + column);
+				}
+			}
+		}
+
+		void read(List<String> row, long line) {
+			this.rows++;
+			List<String> key = new ArrayList<>(OWNER_COLUMNS.size());
+			for (String column : OWNER_COLUMNS) {
+				key.add(value(row, column));
+			}
+			if (!key.equals(this.currentKey)) {
+				finishOwner();
+				this.currentKey = key;
+				this.currentLine = line;
+				this.current = owner(key, line);
+			}
+			else if (this.current == null) {
+				reject(line, "Invalid owner, see line " + this.currentLine);
+				return;
+			}
+			Owner owner = this.current;
+			if (owner != null && StringUtils.hasText(value(row, "petName"))) {
+				addPet(owner, row, line);
+			}
+		}
+
+		void malformed(long line, String message) {
+			this.rows++;
+			reject(line, "Malformed row: " + message);
+		}
+
+		OwnerImportResult finish() {
+			finishOwner();
+			write();
+			return new OwnerImportResult(this.rows, this.savedOwners, this.savedPets, this.errorCount,
+					List.copyOf(this.errors));
+		}
+
+		private @Nullable Owner owner(List<String> key, long line) {
+			Owner owner = new Owner();
+			owner.setFirstName(key.get(0));
+			owner.setLastName(key.get(1));
+			owner.setAddress(key.get(2));
+			owner.setCity(key.get(3));
+			owner.setTelephone(key.get(4));
+			List<String> messages = new ArrayList<>();
+			for (ConstraintViolation<Owner> violation : validator.validate(owner)) {
+				messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+			}
+			if (!messages.isEmpty()) {
+				messages.sort(null);
+				reject(line, "Invalid owner: " + String.join(", ", messages));
+				return null;
+			}
+			return owner;
+		}
+
+		private void addPet(Owner owner, List<String> row, long line) {
+			Pet pet = new Pet();
+			String name = value(row, "petName");
+			pet.setName(name);
+			String birthDate = value(row, "petBirthDate");
+			if (StringUtils.hasText(birthDate)) {
+				try {
+					pet.setBirthDate(LocalDate.parse(birthDate));
+				}
+				catch (DateTimeParseException ex) {
+					reject(line, "Invalid pet: birthDate '" + birthDate + "' is not a yyyy-MM-dd date");
+					return;
+				}
+			}
+			String type = value(row, "petType");
+			if (StringUtils.hasText(type)) {
+				PetType petType = this.petTypes.get(type.toLowerCase(Locale.ROOT));
+				if (petType == null) {
+					reject(line, "Invalid pet: unknown type '" + type + "'");
+					return;
+				}
+				pet.setType(petType);
+			}
+			Errors errors = new BeanPropertyBindingResult(pet, "pet");
+			new PetValidator().validate(pet, errors);
+			if (errors.hasErrors()) {
+				List<String> messages = new ArrayList<>();
+				for (FieldError error : errors.getFieldErrors()) {
+					messages.add(error.getField() + ": " + error.getCode());
+				}
+				reject(line, "Invalid pet: " + String.join(", ", messages));
+				return;
+			}
+			if (owner.getPet(name) != null) {
+				reject(line, "Invalid pet: duplicate name '" + name + "'");
+				return;
+			}
+			owner.addPet(pet);
+		}
+
+		private void finishOwner() {
+			Owner owner = this.current;
+			if (owner != null) {
+				this.batch.add(new PendingOwner(owner, this.currentLine));
+				this.current = null;
+				if (this.batch.size() >= batchSize) {
+					write();
+				}
+			}
+		}
+
+		private void write() {
+			if (this.batch.isEmpty()) {
+				return;
+			}
+			try {
+				transactionTemplate.executeWithoutResult(
+						status -> owners.saveAll(this.batch.stream().map(PendingOwner::owner).toList()));
+				for (PendingOwner pending : this.batch) {
+					saved(pending.owner());
+				}
+			}
+			catch (DataAccessException ex) {
+				logger.warn("Could not save a batch of " + this.batch.size() + " owners, saving them one by one: "
+						+ reason(ex));
+				for (PendingOwner pending : this.batch) {
+					writeOne(pending);
+				}
+			}
+			this.batch.clear();
+			if (logger.isInfoEnabled()) {
+				logger.info("Imported " + this.savedOwners + " owners and " + this.savedPets + " pets from " + this.rows
+						+ " rows, " + this.errorCount + " rows rejected");
+			}
+		}
+
+		private void writeOne(PendingOwner pending) {
+			Owner owner = pending.owner();
+			clearIds(owner);
+			try {
+				transactionTemplate.executeWithoutResult(status -> owners.save(owner));
+				saved(owner);
+			}
+			catch (DataAccessException ex) {
+				clearIds(owner);
+				reject(pending.line(), "Could not save owner: " + reason(ex));
+			}
+		}
+
+		private void saved(Owner owner) {
+			this.savedOwners++;
+			this.savedPets += owner.getPets().size();
+		}
+
+		/**
+		 * Forget the ids assigned by a rolled back save, so the owner and its pets are
+		 * inserted again rather than merged.
+		 */
+		private void clearIds(Owner owner) {
+			owner.setId(null);
+			for (Pet pet : owner.getPets()) {
+				pet.setId(null);
+			}
+		}
+
+		private String reason(DataAccessException ex) {
+			String message = String.valueOf(ex.getMostSpecificCause().getMessage());
+			int end = message.indexOf('\n');
+			return (end >= 0) ? message.substring(0, end) : message;
+		}
+
+		private void reject(long line, String message) {
+			this.errorCount++;
+			if (this.errors.size() < MAX_REPORTED_ERRORS) {
+				this.errors.add(new RowError(line, message));
+			}
+		}
+
+		private String value(List<String> row, String column) {
+			Integer index = this.columns.get(column);
+			if (index == null || index >= row.size()) {
+				return "";
+			}
+			return row.get(index).trim();
+		}
+
+	}
+
+	/**
+	 * An owner waiting to be saved, with the line it was read from.
+	 */
+	private record PendingOwner(Owner owner, long line) {
+
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a request refers to an owner id that does not exist, and answered with a
+ * 404. Unknown ids are usually stale bookmarks or crawlers rather than bugs, so the
+ * exception skips filling in a stack trace, and its message is only built when asked for.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class OwnerNotFoundException extends RuntimeException {
+
+	private final int ownerId;
+
+	public OwnerNotFoundException(int ownerId) {
+		super(null, null, false, false);
+		this.ownerId = ownerId;
+	}
+
+	@Override
+	public String getMessage() {
+		return "Owner not found with id: " + this.ownerId;
+	}
+
+	public int getOwnerId() {
+		return this.ownerId;
+	}
+
+}
@@ -15,18 +15,35 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import jakarta.annotation.Nonnull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository class for <code>Owner</code> domain objects. All method names are compliant
  * with Spring Data naming conventions so this interface can easily be extended for Spring
  * Data. See:
  * https://docs.spring.io/spring-data/jpa/docs/current/reference/html/#repositories.query-methods.query-creation
+ * <p>
+ * Pets and visits are mapped lazily, so each use case picks the finder that fetches
+ * exactly the part of the owner aggregate it displays: {@link #findById(Integer)} for the
+ * owner row, {@link #findWithPetsById(Integer)} for the owner and its pets and
+ * {@link #findWithPetsAndVisitsById(Integer)} for the whole aggregate in one join, or
+ * {@link #findDetailsById(Integer)} for the whole aggregate from the second-level cache.
+ * </p>
  *
  * @author Ken Krebs
  * @author Juergen Hoeller
@@ -45,6 +62,31 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 */
 	Page<Owner> findByLastNameStartingWith(String lastName, Pageable pageable);
 
+	/**
+	 * Retrieve {@link Owner}s from the data store by last name, returning all owners
+	 * whose last name <i>starts</i> with the given name. Unlike
+	 * {@link #findByLastNameStartingWith(String, Pageable)} no count query is issued; the
+	 * returned {@link Slice} only knows whether a next page exists.
+	 * @param lastName Value to search for
+	 * @param pageable the page to return
+	 * @return a {@link Slice} of matching {@link Owner}s
+	 */
+	Slice<Owner> findSliceByLastNameStartingWith(String lastName, Pageable pageable);
+
+	/**
+	 * Retrieve {@link Owner}s from the data store by last name, continuing after the
+	 * given keyset position. Owners are ordered by last name and id, so the
+	 * {@code owners_last_name} index lets the database seek straight to the position
+	 * instead of skipping the rows of all previous pages.
+	 * @param lastName Value to search for
+	 * @param position the last name and id of the last owner already shown, or an initial
+	 * position to start from the beginning
+	 * @param limit the maximum number of owners to return
+	 * @return a {@link Window} of matching {@link Owner}s
+	 */
+	Window<Owner> findByLastNameStartingWithOrderByLastNameAscIdAsc(String lastName, ScrollPosition position,
+			Limit limit);
+
 	/**
 	 * Retrieve an {@link Owner} from the data store by id.
 	 * <p>
@@ -60,4 +102,90 @@ public interface OwnerRepository extends JpaRepository<Owner, Integer> {
 	 */
 	Optional<Owner> findById(Integer id);
 
+	/**
+	 * Retrieve an {@link Owner} together with its {@link Pet}s, in a single join. Visits
+	 * are not loaded.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found, or an empty
+	 * {@link Optional} if not found.
+	 */
+	@EntityGraph(attributePaths = { "pets", "pets.type" })
+	Optional<Owner> findWithPetsById(Integer id);
+
+	/**
+	 * Retrieve an {@link Owner} together with its {@link Pet}s and their {@link Visit}s,
+	 * in a single join.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found, or an empty
+	 * {@link Optional} if not found.
+	 */
+	@EntityGraph(attributePaths = { "pets", "pets.type", "pets.visits" })
+	Optional<Owner> findWithPetsAndVisitsById(Integer id);
+
+	/**
+	 * Retrieve an {@link Owner} together with its {@link Pet}s and their {@link Visit}s
+	 * by navigating from {@link #findById(Integer)}. Unlike the join of
+	 * {@link #findWithPetsAndVisitsById(Integer)}, every step can be answered by the
+	 * second-level cache, so repeat lookups of the same owner issue no SQL. On a cold
+	 * cache the visits are batch fetched for up to 100 pets at a time, so the owner costs
+	 * three selects (owner, pets, visits) rather than one select per pet.
+	 * @param id the id to search for
+	 * @return an {@link Optional} containing the {@link Owner} if found, or an empty
+	 * {@link Optional} if not found.
+	 */
+	@Transactional(readOnly = true)
+	default Optional<Owner> findDetailsById(Integer id) {
+		Optional<Owner> owner = findById(id);
+		owner.ifPresent(found -> found.getPets().forEach(pet -> pet.getVisits().size()));
+		return owner;
+	}
+
+	/**
+	 * Check whether the {@link Owner} with the given id has a {@link Pet} with the given
+	 * id, without loading either of them.
+	 * @param id the id of the owner
+	 * @param petId the id of the pet
+	 * @return {@code true} if the pet belongs to the owner
+	 */
+	boolean existsByIdAndPetsId(Integer id, Integer petId);
+
+	/**
+	 * Retrieve the names of the {@link Pet}s of the given {@link Owner}s, without loading
+	 * the pets themselves. Used to list the pets in owner search results.
+	 * @param ownerIds the ids of the owners
+	 * @return the pet names, ordered by name
+	 */
+	@Query("SELECT o.id AS ownerId, p.name AS name FROM Owner o JOIN o.pets p WHERE o.id IN :ownerIds ORDER BY p.name")
+	List<PetName> findPetNamesByOwnerIdIn(Collection<Integer> ownerIds);
+
+	/**
+	 * Retrieve the id and last name of every {@link Owner}, without hydrating the
+	 * entities. Used to seed the {@link OwnerSearchIndex}.
+	 * @return the last names of all owners
+	 */
+	@Query("SELECT o.id AS id, o.lastName AS lastName FROM Owner o")
+	List<OwnerLastName> findAllLastNames();
+
+	/**
+	 * Projection of a {@link Pet} onto its name and the id of its {@link Owner}.
+	 */
+	interface PetName {
+
+		Integer getOwnerId();
+
+		@Nullable String getName();
+
+	}
+
+	/**
+	 * Projection of an {@link Owner} onto the columns needed for last name search.
+	 */
+	interface OwnerLastName {
+
+		Integer getId();
+
+		@Nullable String getLastName();
+
+	}
+
 }
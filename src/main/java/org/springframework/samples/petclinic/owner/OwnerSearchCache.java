@@ -0,0 +1,226 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache of owner searches by last name prefix. Each page of results is kept as the ids of
+ * the owners on it and the total number of matches, so a repeated search costs a single
+ * lookup by id instead of a {@code LIKE} and a {@code COUNT} query, and owner details are
+ * always read fresh through the {@link OwnerRepository}.
+ * <p>
+ * Entries live in the <code>ownerSearches</code> cache, whose size and expiry are set
+ * like any other cache under <code>petclinic.cache.caches</code>. Every
+ * {@link OwnerSavedEvent} evicts the entries of the prefixes matching the owner's new or
+ * previous last name; other prefixes stay cached. The keys are indexed by prefix, so an
+ * eviction looks up the prefixes of the two names rather than scanning the cache, and an
+ * import that saves many owners stays linear in their number. Index entries whose cache
+ * entry expired are pruned once the index grows to twice the number of cache entries. A
+ * search is only cached if no owner was saved while it ran, so a page read before a save
+ * committed cannot outlive the eviction of that save.
+ * <p>
+ * Enabled with {@code petclinic.owners.search-cache.enabled=true}. Prefixes are compared
+ * ignoring case when evicting, so the cache is safe on databases that match either way.
+ */
+@Component
+@ConditionalOnProperty(name = "petclinic.owners.search-cache.enabled", havingValue = "true")
+public class OwnerSearchCache {
+
+	static final String CACHE_NAME = "ownerSearches";
+
+	private static final int MIN_PRUNE_SIZE = 1024;
+
+	private final OwnerRepository owners;
+
+	private final Cache cache;
+
+	private final Map<String, Set<SearchKey>> keysByPrefix = new ConcurrentHashMap<>();
+
+	private final AtomicInteger indexedKeys = new AtomicInteger();
+
+	private final AtomicLong generation = new AtomicLong();
+
+	private volatile int pruneSize = MIN_PRUNE_SIZE;
+
+	public OwnerSearchCache(OwnerRepository owners, CacheManager cacheManager) {
+		this.owners = owners;
+		Cache cache = cacheManager.getCache(CACHE_NAME);
+		if (cache == null) {
+			throw new IllegalStateException("No cache named " + CACHE_NAME);
+		}
+		this.cache = cache;
+	}
+
+	/**
+	 * Counterpart of {@link OwnerRepository#findByLastNameStartingWith} that answers
+	 * repeated searches from the cache.
+	 * @param lastName the prefix to search for
+	 * @param pageable the page to return
+	 * @return the owners on the requested page, with the total number of matches
+	 */
+	public Page<Owner> findByLastNameStartingWith(String lastName, Pageable pageable) {
+		SearchKey key = new SearchKey(lastName, pageable.getPageNumber(), pageable.getPageSize());
+		SearchResult cached = this.cache.get(key, SearchResult.class);
+		if (cached != null) {
+			List<Owner> content = load(cached.ids());
+			if (content != null) {
+				return new PageImpl<>(content, pageable, cached.total());
+			}
+			this.cache.evict(key);
+		}
+		long generation = this.generation.get();
+		Page<Owner> page = this.owners.findByLastNameStartingWith(lastName, pageable);
+		List<Integer> ids = new ArrayList<>(page.getNumberOfElements());
+		for (Owner owner : page) {
+			Integer id = owner.getId();
+			if (id != null) {
+				ids.add(id);
+			}
+		}
+		// indexed before the put, so that an eviction from now on finds the key; not
+		// cached if an owner was saved since the query started, as the page may be stale
+		index(key);
+		if (this.generation.get() == generation) {
+			this.cache.put(key, new SearchResult(List.copyOf(ids), page.getTotalElements()));
+			if (this.generation.get() != generation) {
+				this.cache.evict(key);
+			}
+		}
+		return page;
+	}
+
+	private void index(SearchKey key) {
+		boolean[] added = new boolean[1];
+		this.keysByPrefix.compute(normalize(key.prefix()), (prefix, keys) -> {
+			Set<SearchKey> indexed = (keys != null) ? keys : ConcurrentHashMap.newKeySet();
+			added[0] = indexed.add(key);
+			return indexed;
+		});
+		if (added[0] && this.indexedKeys.incrementAndGet() > this.pruneSize) {
+			prune();
+		}
+	}
+
+	/**
+	 * Drop the index entries whose cache entry has expired or was evicted by size.
+	 */
+	private synchronized void prune() {
+		if (this.indexedKeys.get() <= this.pruneSize || !(this.cache instanceof CaffeineCache caffeineCache)) {
+			return;
+		}
+		Map<Object, Object> entries = caffeineCache.getNativeCache().asMap();
+		int remaining = 0;
+		for (String prefix : this.keysByPrefix.keySet()) {
+			Set<SearchKey> keys = this.keysByPrefix.computeIfPresent(prefix, (key, indexed) -> {
+				indexed.removeIf(searchKey -> !entries.containsKey(searchKey));
+				return indexed.isEmpty() ? null : indexed;
+			});
+			remaining += (keys != null) ? keys.size() : 0;
+		}
+		this.indexedKeys.set(remaining);
+		this.pruneSize = Math.max(MIN_PRUNE_SIZE, 2 * remaining);
+	}
+
+	/**
+	 * Load the owners with the given ids in the given order.
+	 * @return the owners, or {@code null} if any of them no longer exists
+	 */
+	private @Nullable List<Owner> load(List<Integer> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Integer, Owner> ownersById = new HashMap<>();
+		for (Owner owner : this.owners.findAllById(ids)) {
+			Integer id = owner.getId();
+			if (id != null) {
+				ownersById.put(id, owner);
+			}
+		}
+		List<Owner> content = new ArrayList<>(ids.size());
+		for (Integer id : ids) {
+			Owner owner = ownersById.get(id);
+			if (owner == null) {
+				return null;
+			}
+			content.add(owner);
+		}
+		return content;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	void onOwnerSaved(OwnerSavedEvent event) {
+		evict(event.owner().getLastName(), event.previousLastName());
+	}
+
+	/**
+	 * Evict the searches whose prefix matches the current or previous last name of a
+	 * changed owner.
+	 * @param lastName the current last name
+	 * @param previousLastName the previous last name, or {@code null} for a new owner
+	 */
+	void evict(@Nullable String lastName, @Nullable String previousLastName) {
+		this.generation.incrementAndGet();
+		evictPrefixesOf(lastName);
+		evictPrefixesOf(previousLastName);
+	}
+
+	private void evictPrefixesOf(@Nullable String lastName) {
+		if (lastName == null) {
+			return;
+		}
+		String name = normalize(lastName);
+		for (int length = 0; length <= name.length(); length++) {
+			Set<SearchKey> keys = this.keysByPrefix.remove(name.substring(0, length));
+			if (keys != null) {
+				this.indexedKeys.addAndGet(-keys.size());
+				keys.forEach(this.cache::evict);
+			}
+		}
+	}
+
+	private static String normalize(String lastName) {
+		return lastName.toLowerCase(Locale.ROOT);
+	}
+
+	record SearchKey(String prefix, int page, int size) {
+
+	}
+
+	record SearchResult(List<Integer> ids, long total) {
+
+	}
+
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.samples.petclinic.owner.OwnerRepository.OwnerLastName;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory index over owner last names that answers the owner search, including the
+ * total number of matches, without a {@code LIKE} and a {@code COUNT} query per request.
+ * <p>
+ * Searches read an immutable {@link Snapshot} through a single volatile reference, so
+ * they never block and never see a partly built index. A snapshot holds a sorted array of
+ * last names, in which all owners sharing a prefix form a contiguous range located by
+ * binary search, and a trigram index that narrows substring matches down to a small
+ * candidate set. Saves since the array was built are kept in two small sorted arrays of
+ * added and removed entries, so a prefix search counts its matches with a handful of
+ * binary searches whatever their number, and a save copies only those small arrays. Once
+ * they outgrow the square root of the index size, they are merged into a new array.
+ * <p>
+ * The index is seeded at startup and follows every {@link OwnerRepository#save save}
+ * through {@link OwnerSavedEvent}s; only the owners on the requested page are then loaded
+ * by id. Enabled with {@code petclinic.owners.search-index.enabled=true}. Like the H2 and
+ * MySQL schemas, matching ignores case.
+ */
+@Component
+@ConditionalOnProperty(name = "petclinic.owners.search-index.enabled", havingValue = "true")
+public class OwnerSearchIndex implements SmartInitializingSingleton {
+
+	private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::lastName).thenComparingInt(Entry::id);
+
+	private static final int GRAM = 3;
+
+	private static final int MIN_DELTA = 64;
+
+	private static final Entry[] NO_ENTRIES = new Entry[0];
+
+	private static final int[] NO_POSITIONS = new int[0];
+
+	private final OwnerRepository owners;
+
+	/**
+	 * The current entry of each owner, only used by writers, which hold the instance
+	 * lock.
+	 */
+	private Map<Integer, Entry> entriesById = new HashMap<>();
+
+	private volatile Snapshot snapshot = Snapshot.of(NO_ENTRIES);
+
+	public OwnerSearchIndex(OwnerRepository owners) {
+		this.owners = owners;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		load();
+	}
+
+	/**
+	 * Replace the content of the index with the last names currently stored in the
+	 * database. The new index is built aside while searches keep using the current one,
+	 * and saves wait until it is in place.
+	 */
+	public synchronized void load() {
+		Map<Integer, Entry> entriesById = new HashMap<>();
+		for (OwnerLastName owner : this.owners.findAllLastNames()) {
+			entriesById.put(owner.getId(), new Entry(normalize(owner.getLastName()), owner.getId()));
+		}
+		Entry[] entries = entriesById.values().toArray(NO_ENTRIES);
+		Arrays.sort(entries, ORDER);
+		this.entriesById = entriesById;
+		this.snapshot = Snapshot.of(entries);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	void onOwnerSaved(OwnerSavedEvent event) {
+		Owner owner = event.owner();
+		Integer id = owner.getId();
+		if (id != null) {
+			index(id, owner.getLastName());
+		}
+	}
+
+	/**
+	 * Add an owner to the index, or move it if its last name changed. Saves are applied
+	 * one at a time and publish a new snapshot; searches proceed concurrently on the
+	 * previous one.
+	 * @param id the id of the owner
+	 * @param lastName the current last name of the owner
+	 */
+	public synchronized void index(int id, @Nullable String lastName) {
+		Entry entry = new Entry(normalize(lastName), id);
+		Entry previous = this.entriesById.put(id, entry);
+		if (entry.equals(previous)) {
+			return;
+		}
+		Snapshot current = this.snapshot;
+		Entry[] added = current.added;
+		Entry[] removed = current.removed;
+		if (previous != null) {
+			added = without(added, previous);
+			if (contains(current.base, previous)) {
+				removed = with(removed, previous);
+			}
+		}
+		if (contains(current.base, entry)) {
+			removed = without(removed, entry);
+		}
+		else {
+			added = with(added, entry);
+		}
+		Snapshot next = new Snapshot(current.base, current.positionsByTrigram, added, removed);
+		this.snapshot = (added.length + removed.length > Math.max(MIN_DELTA, Math.sqrt(current.base.length)))
+				? Snapshot.of(next.merged()) : next;
+	}
+
+	/**
+	 * Counterpart of {@link OwnerRepository#findByLastNameStartingWith} served from the
+	 * index. Results are ordered by last name, then id.
+	 * @param lastName the prefix to search for
+	 * @param pageable the page to return
+	 * @return the owners on the requested page, with the total number of matches
+	 */
+	public Page<Owner> findByLastNameStartingWith(String lastName, Pageable pageable) {
+		String prefix = normalize(lastName);
+		Range matches = this.snapshot.startingWith(prefix, prefix + Character.MAX_VALUE);
+		return new PageImpl<>(load(this.owners, matches.ids(pageable)), pageable, matches.total());
+	}
+
+	/**
+	 * Find the owners whose last name contains the given fragment. Results are ordered by
+	 * last name, then id.
+	 * @param fragment the fragment to search for
+	 * @param pageable the page to return
+	 * @return the owners on the requested page, with the total number of matches
+	 */
+	public Page<Owner> findByLastNameContaining(String fragment, Pageable pageable) {
+		List<Entry> matches = this.snapshot.containing(normalize(fragment));
+		List<Entry> slice = matches;
+		if (pageable.isPaged()) {
+			int from = (int) Math.min(pageable.getOffset(), matches.size());
+			slice = matches.subList(from, Math.min(from + pageable.getPageSize(), matches.size()));
+		}
+		return new PageImpl<>(load(this.owners, slice.stream().map(Entry::id).toList()), pageable, matches.size());
+	}
+
+	private static String normalize(@Nullable String lastName) {
+		return (lastName != null) ? lastName.toLowerCase(Locale.ROOT) : "";
+	}
+
+	/**
+	 * Load the owners with the given ids, in the given order.
+	 */
+	private static List<Owner> load(OwnerRepository owners, List<Integer> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Integer, Owner> ownersById = new HashMap<>();
+		for (Owner owner : owners.findAllById(ids)) {
+			Integer id = owner.getId();
+			if (id != null) {
+				ownersById.put(id, owner);
+			}
+		}
+		List<Owner> content = new ArrayList<>(ids.size());
+		for (Integer id : ids) {
+			Owner owner = ownersById.get(id);
+			if (owner != null) {
+				content.add(owner);
+			}
+		}
+		return content;
+	}
+
+	private static boolean contains(Entry[] entries, Entry entry) {
+		return Arrays.binarySearch(entries, entry, ORDER) >= 0;
+	}
+
+	private static Entry[] with(Entry[] entries, Entry entry) {
+		int index = Arrays.binarySearch(entries, entry, ORDER);
+		if (index >= 0) {
+			return entries;
+		}
+		index = -(index + 1);
+		Entry[] result = new Entry[entries.length + 1];
+		System.arraycopy(entries, 0, result, 0, index);
+		result[index] = entry;
+		System.arraycopy(entries, index, result, index + 1, entries.length - index);
+		return result;
+	}
+
+	private static Entry[] without(Entry[] entries, Entry entry) {
+		int index = Arrays.binarySearch(entries, entry, ORDER);
+		if (index < 0) {
+			return entries;
+		}
+		Entry[] result = new Entry[entries.length - 1];
+		System.arraycopy(entries, 0, result, 0, index);
+		System.arraycopy(entries, index + 1, result, index, entries.length - index - 1);
+		return result;
+	}
+
+	/**
+	 * Return the index of the first entry whose last name is not less than the given key.
+	 */
+	private static int lowerBound(Entry[] entries, String key) {
+		int low = 0;
+		int high = entries.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (entries[mid].lastName().compareTo(key) < 0) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Return the index of the first entry that is not ordered before the given entry.
+	 */
+	private static int lowerBound(Entry[] entries, int from, int to, Entry key) {
+		int low = from;
+		int high = to;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (ORDER.compare(entries[mid], key) < 0) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private record Entry(String lastName, int id) {
+
+	}
+
+	/**
+	 * An immutable state of the index: the entries sorted when it was last built, with
+	 * the trigram positions of their last names, and the entries added and removed since,
+	 * both sorted and disjoint from, respectively contained in, the base entries.
+	 */
+	private static final class Snapshot {
+
+		private final Entry[] base;
+
+		private final Map<String, int[]> positionsByTrigram;
+
+		private final Entry[] added;
+
+		private final Entry[] removed;
+
+		private Snapshot(Entry[] base, Map<String, int[]> positionsByTrigram, Entry[] added, Entry[] removed) {
+			this.base = base;
+			this.positionsByTrigram = positionsByTrigram;
+			this.added = added;
+			this.removed = removed;
+		}
+
+		static Snapshot of(Entry[] sorted) {
+			return new Snapshot(sorted, trigrams(sorted), NO_ENTRIES, NO_ENTRIES);
+		}
+
+		/**
+		 * Return the sorted entries of this snapshot, with the added and removed ones
+		 * merged in.
+		 */
+		Entry[] merged() {
+			Entry[] merged = new Entry[this.base.length - this.removed.length + this.added.length];
+			int i = 0;
+			int j = 0;
+			int k = 0;
+			while (i < this.base.length || j < this.added.length) {
+				if (j == this.added.length
+						|| (i < this.base.length && ORDER.compare(this.base[i], this.added[j]) < 0)) {
+					if (!contains(this.removed, this.base[i])) {
+						merged[k++] = this.base[i];
+					}
+					i++;
+				}
+				else {
+					merged[k++] = this.added[j++];
+				}
+			}
+			return merged;
+		}
+
+		/**
+		 * Return the entries whose last name is at least {@code low} and less than
+		 * {@code high}.
+		 */
+		Range startingWith(String low, String high) {
+			return new Range(this, lowerBound(this.base, low), lowerBound(this.base, high), lowerBound(this.added, low),
+					lowerBound(this.added, high), lowerBound(this.removed, low), lowerBound(this.removed, high));
+		}
+
+		/**
+		 * Return the entries whose last name contains the given fragment, in order.
+		 */
+		List<Entry> containing(String needle) {
+			List<Entry> matches = new ArrayList<>();
+			int[] candidates = candidates(needle);
+			int count = (candidates != null) ? candidates.length : this.base.length;
+			int j = 0;
+			for (int c = 0; c < count; c++) {
+				Entry entry = this.base[(candidates != null) ? candidates[c] : c];
+				for (; j < this.added.length && ORDER.compare(this.added[j], entry) < 0; j++) {
+					if (this.added[j].lastName().contains(needle)) {
+						matches.add(this.added[j]);
+					}
+				}
+				if (entry.lastName().contains(needle) && !contains(this.removed, entry)) {
+					matches.add(entry);
+				}
+			}
+			for (; j < this.added.length; j++) {
+				if (this.added[j].lastName().contains(needle)) {
+					matches.add(this.added[j]);
+				}
+			}
+			return matches;
+		}
+
+		/**
+		 * Return the ascending positions of the base entries sharing the rarest trigram
+		 * of the given fragment, or {@code null} for all of them if the fragment is too
+		 * short to have one.
+		 */
+		private int @Nullable [] candidates(String needle) {
+			if (needle.length() < GRAM) {
+				return null;
+			}
+			int @Nullable [] smallest = null;
+			for (int i = 0; i + GRAM <= needle.length(); i++) {
+				int[] positions = this.positionsByTrigram.getOrDefault(needle.substring(i, i + GRAM), NO_POSITIONS);
+				if (smallest == null || positions.length < smallest.length) {
+					smallest = positions;
+				}
+			}
+			return smallest;
+		}
+
+		private static Map<String, int[]> trigrams(Entry[] entries) {
+			Map<String, int[]> counts = new HashMap<>();
+			for (Entry entry : entries) {
+				for (String trigram : trigrams(entry.lastName())) {
+					counts.computeIfAbsent(trigram, (key) -> new int[1])[0]++;
+				}
+			}
+			Map<String, int[]> positionsByTrigram = new HashMap<>(counts.size() * 2);
+			counts.forEach((trigram, count) -> positionsByTrigram.put(trigram, new int[count[0]]));
+			for (int position = 0; position < entries.length; position++) {
+				for (String trigram : trigrams(entries[position].lastName())) {
+					int[] positions = positionsByTrigram.get(trigram);
+					int[] filled = counts.get(trigram);
+					if (positions != null && filled != null) {
+						positions[positions.length - filled[0]--] = position;
+					}
+				}
+			}
+			return positionsByTrigram;
+		}
+
+		private static Set<String> trigrams(String name) {
+			Set<String> trigrams = new HashSet<>();
+			for (int i = 0; i + GRAM <= name.length(); i++) {
+				trigrams.add(name.substring(i, i + GRAM));
+			}
+			return trigrams;
+		}
+
+	}
+
+	/**
+	 * The entries of a snapshot within a range of last names, as index bounds into its
+	 * base, added and removed entries.
+	 */
+	private record Range(Snapshot snapshot, int baseFrom, int baseTo, int addedFrom, int addedTo, int removedFrom,
+			int removedTo) {
+
+		long total() {
+			return (this.baseTo - this.baseFrom) - (this.removedTo - this.removedFrom)
+					+ (this.addedTo - this.addedFrom);
+		}
+
+		/**
+		 * Return the number of entries of the range ordered before the base entry at the
+		 * given position.
+		 */
+		private long rank(int position) {
+			Entry entry = this.snapshot.base[position];
+			return (position - this.baseFrom)
+					- (lowerBound(this.snapshot.removed, this.removedFrom, this.removedTo, entry) - this.removedFrom)
+					+ (lowerBound(this.snapshot.added, this.addedFrom, this.addedTo, entry) - this.addedFrom);
+		}
+
+		/**
+		 * Return the ids of the entries on the requested page.
+		 */
+		List<Integer> ids(Pageable pageable) {
+			long total = total();
+			long from = pageable.isPaged() ? pageable.getOffset() : 0;
+			long to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), total) : total;
+			Entry[] base = this.snapshot.base;
+			Entry[] added = this.snapshot.added;
+			// start from the last base entry ranked at or before the page, found by
+			// binary
+			// search so that a deep page costs no more than the first one
+			int i = this.baseFrom;
+			int j = this.addedFrom;
+			long rank = 0;
+			boolean found = false;
+			int low = this.baseFrom;
+			int high = this.baseTo - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				long midRank = rank(mid);
+				if (midRank <= from) {
+					i = mid;
+					rank = midRank;
+					found = true;
+					low = mid + 1;
+				}
+				else {
+					high = mid - 1;
+				}
+			}
+			if (found) {
+				j = lowerBound(added, this.addedFrom, this.addedTo, base[i]);
+			}
+			List<Integer> ids = new ArrayList<>();
+			while (rank < to && (i < this.baseTo || j < this.addedTo)) {
+				Entry next;
+				if (j == this.addedTo || (i < this.baseTo && ORDER.compare(base[i], added[j]) < 0)) {
+					next = base[i++];
+					if (contains(this.snapshot.removed, next)) {
+						continue;
+					}
+				}
+				else {
+					next = added[j++];
+				}
+				if (rank >= from) {
+					ids.add(next.id());
+				}
+				rank++;
+			}
+			return ids;
+		}
+
+	}
+
+}
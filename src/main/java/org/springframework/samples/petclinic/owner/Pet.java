@@ -22,16 +22,19 @@ import java.util.Set;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.samples.petclinic.model.NamedEntity;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -44,6 +47,7 @@ import org.jspecify.annotations.Nullable;
  */
 @Entity
 @Table(name = "pets")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pets")
 public class Pet extends NamedEntity {
 
 	@Column(name = "birth_date")
@@ -54,11 +58,27 @@ public class Pet extends NamedEntity {
 	@JoinColumn(name = "type_id")
 	private @Nullable PetType type;
 
-	@OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-	@JoinColumn(name = "pet_id")
+	// the visits of up to 100 pets of an owner missing from the cache load in one select
+	@OneToMany(cascade = CascadeType.ALL, mappedBy = "pet")
 	@OrderBy("date ASC")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pet-visits")
+	@BatchSize(size = 100)
 	private final Set<Visit> visits = new LinkedHashSet<>();
 
+	/**
+	 * The owner whose pet index holds this pet, told when the pet is renamed.
+	 */
+	@Transient
+	private @Nullable Owner indexedBy;
+
+	@Override
+	public void setName(@Nullable String name) {
+		super.setName(name);
+		if (this.indexedBy != null) {
+			this.indexedBy.petRenamed();
+		}
+	}
+
 	public void setBirthDate(@Nullable LocalDate birthDate) {
 		this.birthDate = birthDate;
 	}
@@ -80,7 +100,12 @@ public class Pet extends NamedEntity {
 	}
 
 	public void addVisit(Visit visit) {
+		visit.setPet(this);
 		getVisits().add(visit);
 	}
 
+	void setIndexedBy(Owner owner) {
+		this.indexedBy = owner;
+	}
+
 }
@@ -18,7 +18,6 @@ package org.springframework.samples.petclinic.owner;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Objects;
-import java.util.Optional;
 
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
@@ -52,37 +51,38 @@ class PetController {
 
 	private final OwnerRepository owners;
 
-	private final PetTypeRepository types;
+	private final UnknownOwnerIds unknownOwners;
 
-	public PetController(OwnerRepository owners, PetTypeRepository types) {
+	private final PetTypeRegistry types;
+
+	public PetController(OwnerRepository owners, UnknownOwnerIds unknownOwners, PetTypeRegistry types) {
 		this.owners = owners;
+		this.unknownOwners = unknownOwners;
 		this.types = types;
 	}
 
 	@ModelAttribute("types")
 	public Collection<PetType> populatePetTypes() {
-		return this.types.findPetTypes();
+		return this.types.getAll();
 	}
 
 	@ModelAttribute("owner")
 	public Owner findOwner(@PathVariable("ownerId") int ownerId) {
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
-		return owner;
+		return this.unknownOwners.findOwner(ownerId, this.owners::findWithPetsById);
 	}
 
+	/**
+	 * Looks the pet up in the owner already loaded by {@link #findOwner(int)} for this
+	 * request, so the owner is not fetched a second time.
+	 */
 	@ModelAttribute("pet")
-	public @Nullable Pet findPet(@PathVariable("ownerId") int ownerId,
+	public @Nullable Pet findPet(@ModelAttribute(name = "owner", binding = false) Owner owner,
 			@PathVariable(name = "petId", required = false) @Nullable Integer petId) {
 
 		if (petId == null) {
 			return new Pet();
 		}
 
-		Optional<Owner> optionalOwner = this.owners.findById(ownerId);
-		Owner owner = optionalOwner.orElseThrow(() -> new IllegalArgumentException(
-				"Owner not found with id: " + ownerId + ". Please ensure the ID is correct "));
 		return owner.getPet(petId);
 	}
 
@@ -15,7 +15,14 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.DomainEvents;
 import org.springframework.samples.petclinic.model.NamedEntity;
+import org.springframework.samples.petclinic.model.ReferenceDataChangedEvent;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -25,6 +32,16 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "types")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "types")
 public class PetType extends NamedEntity {
 
+	/**
+	 * Tell the {@link PetTypeRegistry} to reload whenever a pet type is saved or deleted.
+	 * @return the events to publish after a repository save or delete
+	 */
+	@DomainEvents
+	Collection<ReferenceDataChangedEvent> domainEvents() {
+		return List.of(new ReferenceDataChangedEvent(PetType.class));
+	}
+
 }
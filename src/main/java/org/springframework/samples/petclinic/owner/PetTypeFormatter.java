@@ -19,9 +19,7 @@ import org.springframework.format.Formatter;
 import org.springframework.stereotype.Component;
 
 import java.text.ParseException;
-import java.util.Collection;
 import java.util.Locale;
-import java.util.Objects;
 
 /**
  * Instructs Spring MVC on how to parse and print elements of type 'PetType'. Starting
@@ -36,9 +34,9 @@ import java.util.Objects;
 @Component
 public class PetTypeFormatter implements Formatter<PetType> {
 
-	private final PetTypeRepository types;
+	private final PetTypeRegistry types;
 
-	public PetTypeFormatter(PetTypeRepository types) {
+	public PetTypeFormatter(PetTypeRegistry types) {
 		this.types = types;
 	}
 
@@ -50,13 +48,11 @@ public class PetTypeFormatter implements Formatter<PetType> {
 
 	@Override
 	public PetType parse(String text, Locale locale) throws ParseException {
-		Collection<PetType> findPetTypes = this.types.findPetTypes();
-		for (PetType type : findPetTypes) {
-			if (Objects.equals(type.getName(), text)) {
-				return type;
-			}
+		PetType type = this.types.findByName(text);
+		if (type == null) {
+			throw new ParseException("type not found: " + text, 0);
 		}
-		throw new ParseException("type not found: " + text, 0);
+		return type;
 	}
 
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Negative cache of owner ids that were looked up and do not exist, so that repeated
+ * probes of the same unknown id are answered with an {@link OwnerNotFoundException}
+ * without a query.
+ * <p>
+ * Ids live in the <code>unknownOwners</code> cache, bounded like any other cache under
+ * <code>petclinic.cache.caches</code>. An id is forgotten as soon as an owner with that
+ * id is saved, so an id probed before it was handed out still resolves once the owner
+ * exists, and a lookup that raced with such a save does not cache its miss.
+ */
+@Component
+public class UnknownOwnerIds {
+
+	static final String CACHE_NAME = "unknownOwners";
+
+	private static final int GENERATIONS = 64;
+
+	private final Cache cache;
+
+	// save counts per id, striped so that they stay bounded however many ids are probed
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATIONS);
+
+	public UnknownOwnerIds(CacheManager cacheManager) {
+		Cache cache = cacheManager.getCache(CACHE_NAME);
+		if (cache == null) {
+			throw new IllegalStateException("No cache named " + CACHE_NAME);
+		}
+		this.cache = cache;
+	}
+
+	/**
+	 * Look up an owner, unless its id is already known not to exist.
+	 * @param ownerId the id of the owner
+	 * @param finder the repository lookup to run for ids not known to be missing
+	 * @return the owner
+	 * @throws OwnerNotFoundException if there is no owner with the id
+	 */
+	public Owner findOwner(int ownerId, IntFunction<Optional<Owner>> finder) {
+		if (this.cache.get(ownerId) != null) {
+			throw new OwnerNotFoundException(ownerId);
+		}
+		int stripe = stripe(ownerId);
+		long generation = this.generations.get(stripe);
+		Optional<Owner> owner = finder.apply(ownerId);
+		if (owner.isEmpty()) {
+			// an owner with this id may have been saved while it was looked up, then the
+			// miss is stale and must not hide the new owner
+			if (this.generations.get(stripe) == generation) {
+				this.cache.put(ownerId, Boolean.TRUE);
+				if (this.generations.get(stripe) != generation) {
+					this.cache.evict(ownerId);
+				}
+			}
+			throw new OwnerNotFoundException(ownerId);
+		}
+		return owner.get();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	void onOwnerSaved(OwnerSavedEvent event) {
+		Integer id = event.owner().getId();
+		if (id != null) {
+			this.generations.incrementAndGet(stripe(id));
+			this.cache.evict(id);
+		}
+	}
+
+	private static int stripe(int ownerId) {
+		return Math.floorMod(ownerId, GENERATIONS);
+	}
+
+}
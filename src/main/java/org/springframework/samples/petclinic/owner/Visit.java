@@ -19,9 +19,14 @@ import java.time.LocalDate;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.samples.petclinic.model.BaseEntity;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import org.jspecify.annotations.Nullable;
@@ -34,6 +39,7 @@ import org.jspecify.annotations.Nullable;
  */
 @Entity
 @Table(name = "visits")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "visits")
 public class Visit extends BaseEntity {
 
 	@Column(name = "visit_date")
@@ -43,6 +49,10 @@ public class Visit extends BaseEntity {
 	@NotBlank
 	private @Nullable String description;
 
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "pet_id")
+	private @Nullable Pet pet;
+
 	/**
 	 * Creates a new instance of Visit for the current date
 	 */
@@ -66,4 +76,12 @@ public class Visit extends BaseEntity {
 		this.description = description;
 	}
 
+	public @Nullable Pet getPet() {
+		return this.pet;
+	}
+
+	public void setPet(@Nullable Pet pet) {
+		this.pet = pet;
+	}
+
 }
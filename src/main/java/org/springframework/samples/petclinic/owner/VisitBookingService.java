@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Books {@link Visit}s. A booking checks that the pet belongs to the owner and inserts
+ * the visit row directly, so its cost does not depend on how many pets and visits the
+ * owner already has.
+ */
+@Service
+public class VisitBookingService {
+
+	private final OwnerRepository owners;
+
+	private final VisitRepository visits;
+
+	private final EntityManager entityManager;
+
+	public VisitBookingService(OwnerRepository owners, VisitRepository visits, EntityManager entityManager) {
+		this.owners = owners;
+		this.visits = visits;
+		this.entityManager = entityManager;
+	}
+
+	/**
+	 * Book the given visit for a pet of an owner.
+	 * @param ownerId the id of the owner
+	 * @param petId the id of the pet
+	 * @param visit the visit to book
+	 * @throws OwnerNotFoundException if there is no owner with the given id
+	 * @throws PetNotFoundException if the owner has no pet with the given id
+	 */
+	@Transactional
+	public void book(int ownerId, int petId, Visit visit) {
+		if (!this.owners.existsByIdAndPetsId(ownerId, petId)) {
+			// only a failed booking pays for telling the two cases apart
+			if (!this.owners.existsById(ownerId)) {
+				throw new OwnerNotFoundException(ownerId);
+			}
+			throw new PetNotFoundException(ownerId, petId);
+		}
+		// a reference is enough to write the pet_id column, the pet itself is not loaded
+		visit.setPet(this.entityManager.getReference(Pet.class, petId));
+		this.visits.save(visit);
+	}
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.data.repository.Repository;
+
+/**
+ * Repository class for <code>Visit</code> domain objects. Visits are otherwise written
+ * through their {@link Pet}; this repository books a visit without loading the pet or its
+ * owner.
+ */
+public interface VisitRepository extends Repository<Visit, Integer> {
+
+	/**
+	 * Save a {@link Visit} to the data store, inserting it if it is new.
+	 * @param visit the visit to save
+	 * @return the saved visit
+	 */
+	Visit save(Visit visit);
+
+}
@@ -16,38 +16,67 @@
 
 package org.springframework.samples.petclinic.system;
 
-import org.springframework.boot.cache.autoconfigure.JCacheManagerCustomizer;
+import java.util.Collection;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-
-import javax.cache.configuration.MutableConfiguration;
+import org.springframework.data.domain.Slice;
 
 /**
- * Cache configuration intended for caches providing the JCache API. This configuration
- * creates the used cache for the application and enables statistics that become
- * accessible via JMX.
+ * Cache configuration for the Caffeine cache manager that Spring Boot sets up. Every
+ * cache declared under <code>petclinic.cache.caches</code> is registered with its own
+ * size limit and expiry; caches that are not declared fall back to
+ * <code>spring.cache.caffeine.spec</code>.
+ * <p>
+ * Statistics are always recorded so that the caches are published as <code>cache.*</code>
+ * meters via Micrometer and the actuator metrics endpoint.
  */
 @Configuration(proxyBeanMethods = false)
 @EnableCaching
+@EnableConfigurationProperties(CacheRegistryProperties.class)
 class CacheConfiguration {
 
 	@Bean
-	public JCacheManagerCustomizer petclinicCacheConfigurationCustomizer() {
-		return cm -> cm.createCache("vets", cacheConfiguration());
+	public CacheManagerCustomizer<CaffeineCacheManager> petclinicCacheConfigurationCustomizer(
+			CacheRegistryProperties properties) {
+		return cacheManager -> properties.caches()
+			.forEach((name, spec) -> cacheManager.registerCustomCache(name, caffeine(spec).build()));
+	}
+
+	private static Caffeine<Object, Object> caffeine(CacheRegistryProperties.Spec spec) {
+		Caffeine<Object, Object> caffeine = Caffeine.newBuilder().recordStats();
+		if (spec.maximumSize() != null) {
+			caffeine.maximumSize(spec.maximumSize());
+		}
+		if (spec.maximumWeight() != null) {
+			caffeine.maximumWeight(spec.maximumWeight()).weigher((key, value) -> weigh(value));
+		}
+		if (spec.expireAfterWrite() != null) {
+			caffeine.expireAfterWrite(spec.expireAfterWrite());
+		}
+		if (spec.expireAfterAccess() != null) {
+			caffeine.expireAfterAccess(spec.expireAfterAccess());
+		}
+		return caffeine;
 	}
 
 	/**
-	 * Create a simple configuration that enable statistics via the JCache programmatic
-	 * configuration API.
-	 * <p>
-	 * Within the configuration object that is provided by the JCache API standard, there
-	 * is only a very limited set of configuration options. The really relevant
-	 * configuration options (like the size limit) must be set via a configuration
-	 * mechanism that is provided by the selected JCache implementation.
+	 * Weigh a cached value by the number of entities it holds, so that a weight limit
+	 * bounds the cache by rows rather than by result sets of arbitrary size.
 	 */
-	private javax.cache.configuration.Configuration<Object, Object> cacheConfiguration() {
-		return new MutableConfiguration<>().setStatisticsEnabled(true);
+	static int weigh(Object value) {
+		if (value instanceof Collection<?> collection) {
+			return Math.max(1, collection.size());
+		}
+		if (value instanceof Slice<?> slice) {
+			return Math.max(1, slice.getNumberOfElements());
+		}
+		return 1;
 	}
 
 }
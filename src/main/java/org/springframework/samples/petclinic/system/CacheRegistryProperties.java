@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Named caches of the application, bound from <code>petclinic.cache.caches.*</code> so
+ * that a cache can be declared or tuned without touching Java code, e.g.
+ *
+ * <pre>
+ * petclinic.cache.caches.vets.maximum-size=1
+ * petclinic.cache.caches.vets.expire-after-write=10m
+ * </pre>
+ *
+ * @param caches the cache specifications keyed by cache name
+ */
+@ConfigurationProperties("petclinic.cache")
+record CacheRegistryProperties(@DefaultValue Map<String, Spec> caches) {
+
+	/**
+	 * Limits and expiry of a single cache; any setting left out is not applied.
+	 *
+	 * @param maximumSize the maximum number of entries
+	 * @param maximumWeight the maximum number of entities held across all entries, where
+	 * a collection or page counts as many entities as it contains
+	 * @param expireAfterWrite how long an entry is kept after it was stored
+	 * @param expireAfterAccess how long an entry is kept after it was last read
+	 */
+	record Spec(@Nullable Long maximumSize, @Nullable Long maximumWeight, @Nullable Duration expireAfterWrite,
+			@Nullable Duration expireAfterAccess) {
+
+	}
+
+}
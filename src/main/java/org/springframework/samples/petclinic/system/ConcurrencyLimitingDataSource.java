@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * A {@link DataSource} that lets at most a fixed number of connections be checked out at
+ * once. Callers over the limit wait on a fair {@link Semaphore} rather than in the
+ * connection pool, which is cheap for virtual threads: a waiting virtual thread is
+ * unmounted and costs a few hundred bytes of heap, whereas one waiting inside the pool
+ * holds on to its carrier while the pool hands connections over. The permit is returned
+ * when the connection is closed.
+ */
+class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+	private final Semaphore permits;
+
+	private final int limit;
+
+	private final Duration timeout;
+
+	ConcurrencyLimitingDataSource(DataSource target, int limit, Duration timeout) {
+		super(target);
+		this.permits = new Semaphore(limit, true);
+		this.limit = limit;
+		this.timeout = timeout;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		return limited(() -> super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		return limited(() -> super.getConnection(username, password));
+	}
+
+	/**
+	 * Return the number of connections that can be checked out before callers start to
+	 * wait.
+	 */
+	int getAvailablePermits() {
+		return this.permits.availablePermits();
+	}
+
+	/**
+	 * Return the number of callers waiting for a connection.
+	 */
+	int getQueueLength() {
+		return this.permits.getQueueLength();
+	}
+
+	private void acquire() throws SQLException {
+		try {
+			if (!this.permits.tryAcquire(this.timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+				throw new SQLTransientConnectionException("No connection available within " + this.timeout.toMillis()
+						+ "ms (" + this.limit + " in use, " + this.permits.getQueueLength() + " waiting)");
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a connection", ex);
+		}
+	}
+
+	private Connection limited(ConnectionSupplier supplier) throws SQLException {
+		Connection connection;
+		try {
+			connection = supplier.get();
+		}
+		catch (SQLException | RuntimeException ex) {
+			this.permits.release();
+			throw ex;
+		}
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+				new PermitReleasingHandler(connection));
+	}
+
+	@FunctionalInterface
+	private interface ConnectionSupplier {
+
+		Connection get() throws SQLException;
+
+	}
+
+	/**
+	 * Delegates to the pooled connection and returns the permit the first time the
+	 * connection is closed.
+	 */
+	private final class PermitReleasingHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private PermitReleasingHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public @Nullable Object invoke(Object proxy, Method method, @Nullable Object @Nullable [] args)
+				throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					return args != null && proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "Limited connection [" + this.target + "]";
+				default:
+			}
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+			finally {
+				if (method.getName().equals("close") && this.released.compareAndSet(false, true)) {
+					ConcurrencyLimitingDataSource.this.permits.release();
+				}
+			}
+		}
+
+	}
+
+}
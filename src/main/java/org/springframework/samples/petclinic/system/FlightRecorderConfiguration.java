@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Emits the {@link FlightRecorderEvents} of handlers, views and the repositories listed
+ * in <code>petclinic.jfr.repositories</code>, unless
+ * <code>petclinic.jfr.enabled=false</code>. The events only reach a recording that
+ * enables them.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "petclinic.jfr.enabled", havingValue = "true", matchIfMissing = true)
+class FlightRecorderConfiguration implements WebMvcConfigurer {
+
+	@Bean
+	static BeanPostProcessor repositoryEventPostProcessor(
+			@Value("${petclinic.jfr.repositories:OwnerRepository,VetRepository,PetTypeRepository}") Set<String> repositories) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer(
+							(factory) -> factory.addRepositoryProxyPostProcessor((proxyFactory, repository) -> {
+								if (repositories.contains(repository.getRepositoryInterface().getSimpleName())) {
+									proxyFactory.addAdvice(new RepositoryEventInterceptor(
+											repository.getRepositoryInterface(), repository.getIdType()));
+								}
+							}));
+				}
+				return bean;
+			}
+
+		};
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new FlightRecorderInterceptor());
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The Java Flight Recorder events of the application, so recordings show which handler,
+ * repository call or view a thread was busy with alongside the JVM's own events. They are
+ * disabled unless a recording asks for them, as <code>src/main/jfr/petclinic.jfc</code>
+ * does; a disabled event costs an allocation the JIT removes and an
+ * {@link Event#isEnabled()} check.
+ */
+final class FlightRecorderEvents {
+
+	private static final String PREFIX = "org.springframework.samples.petclinic.";
+
+	private FlightRecorderEvents() {
+	}
+
+	/**
+	 * The execution of a controller handler method, without rendering its view.
+	 */
+	@Name(PREFIX + "Handler")
+	@Label("Handler")
+	@Category("PetClinic")
+	@Description("Execution of a controller handler method")
+	@Enabled(false)
+	@StackTrace(false)
+	static class HandlerEvent extends Event {
+
+		@Label("Handler")
+		@Description("The controller and method, e.g. OwnerController.showOwner")
+		@Nullable String handler;
+
+		@Label("HTTP Method")
+		@Nullable String method;
+
+		@Label("URI")
+		@Description("The URI pattern the request matched")
+		@Nullable String uri;
+
+		@Label("Owner ID")
+		@Description("The ownerId path variable, or 0 if there is none")
+		long ownerId;
+
+		@Label("Exception")
+		@Description("The exception the handler threw, if any")
+		@Nullable String exception;
+
+	}
+
+	/**
+	 * A call to a Spring Data repository.
+	 */
+	@Name(PREFIX + "Repository")
+	@Label("Repository Call")
+	@Category("PetClinic")
+	@Description("Call to a Spring Data repository method")
+	@Enabled(false)
+	@StackTrace(false)
+	static class RepositoryEvent extends Event {
+
+		@Label("Repository")
+		@Nullable String repository;
+
+		@Label("Method")
+		@Nullable String method;
+
+		@Label("Entity ID")
+		@Description("The id argument of the call, such as the owner id of OwnerRepository.findById, or 0")
+		long entityId;
+
+		@Label("Rows")
+		@Description("The number of entities or rows returned")
+		long rows;
+
+		@Label("Exception")
+		@Nullable String exception;
+
+	}
+
+	/**
+	 * The rendering of a view.
+	 */
+	@Name(PREFIX + "ViewRender")
+	@Label("View Render")
+	@Category("PetClinic")
+	@Description("Rendering of the view of a handler")
+	@Enabled(false)
+	@StackTrace(false)
+	static class ViewRenderEvent extends Event {
+
+		@Label("View")
+		@Nullable String view;
+
+		@Label("Handler")
+		@Nullable String handler;
+
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.samples.petclinic.system.FlightRecorderEvents.HandlerEvent;
+import org.springframework.samples.petclinic.system.FlightRecorderEvents.ViewRenderEvent;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records a {@link HandlerEvent} for the handler of each request and a
+ * {@link ViewRenderEvent} for its view. The handler event is committed when the handler
+ * returns, or when the request completes if it threw.
+ */
+class FlightRecorderInterceptor implements HandlerInterceptor {
+
+	private static final String HANDLER_EVENT = FlightRecorderInterceptor.class.getName() + ".HANDLER_EVENT";
+
+	private static final String VIEW_EVENT = FlightRecorderInterceptor.class.getName() + ".VIEW_EVENT";
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		HandlerEvent event = new HandlerEvent();
+		if (event.isEnabled()) {
+			event.begin();
+			request.setAttribute(HANDLER_EVENT, event);
+		}
+		return true;
+	}
+
+	@Override
+	public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+			@Nullable ModelAndView modelAndView) {
+		commit(request, handler, null);
+		ViewRenderEvent event = new ViewRenderEvent();
+		if (modelAndView != null && event.isEnabled()) {
+			event.view = (modelAndView.getViewName() != null) ? modelAndView.getViewName()
+					: String.valueOf(modelAndView.getView());
+			event.begin();
+			request.setAttribute(VIEW_EVENT, event);
+		}
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			@Nullable Exception ex) {
+		commit(request, handler, ex);
+		if (request.getAttribute(VIEW_EVENT) instanceof ViewRenderEvent event) {
+			request.removeAttribute(VIEW_EVENT);
+			event.end();
+			if (event.shouldCommit()) {
+				event.handler = name(handler);
+				event.commit();
+			}
+		}
+	}
+
+	private static void commit(HttpServletRequest request, Object handler, @Nullable Exception ex) {
+		if (!(request.getAttribute(HANDLER_EVENT) instanceof HandlerEvent event)) {
+			return;
+		}
+		request.removeAttribute(HANDLER_EVENT);
+		event.end();
+		if (event.shouldCommit()) {
+			event.handler = name(handler);
+			event.method = request.getMethod();
+			event.uri = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+			event.ownerId = ownerId(request);
+			event.exception = (ex != null) ? ex.getClass().getName() : null;
+			event.commit();
+		}
+	}
+
+	private static String name(Object handler) {
+		return (handler instanceof HandlerMethod method)
+				? method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+				: handler.getClass().getSimpleName();
+	}
+
+	private static long ownerId(HttpServletRequest request) {
+		if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+				&& variables.get("ownerId") instanceof String ownerId) {
+			try {
+				return Long.parseLong(ownerId);
+			}
+			catch (NumberFormatException ex) {
+				// not an owner id, leave it out
+			}
+		}
+		return 0;
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.samples.petclinic.system.FlightRecorderEvents.RepositoryEvent;
+
+/**
+ * Records a {@link RepositoryEvent} for each call to a repository, with the id it was
+ * called with and the number of entities or rows it returned.
+ */
+class RepositoryEventInterceptor implements MethodInterceptor {
+
+	private final String repository;
+
+	private final Class<?> idType;
+
+	/**
+	 * Create an interceptor for the given repository.
+	 * @param repositoryInterface the repository interface
+	 * @param idType the type of the ids of its entities
+	 */
+	RepositoryEventInterceptor(Class<?> repositoryInterface, Class<?> idType) {
+		this.repository = repositoryInterface.getSimpleName();
+		this.idType = idType;
+	}
+
+	@Override
+	public @Nullable Object invoke(MethodInvocation invocation) throws Throwable {
+		RepositoryEvent event = new RepositoryEvent();
+		if (!event.isEnabled()) {
+			return invocation.proceed();
+		}
+		event.begin();
+		Object result = null;
+		Throwable failure = null;
+		try {
+			result = invocation.proceed();
+			return result;
+		}
+		catch (Throwable ex) {
+			failure = ex;
+			throw ex;
+		}
+		finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.repository = this.repository;
+				event.method = invocation.getMethod().getName();
+				event.entityId = entityId(invocation.getArguments());
+				event.rows = (failure != null || invocation.getMethod().getReturnType() == void.class) ? 0
+						: rows(result);
+				event.exception = (failure != null) ? failure.getClass().getName() : null;
+				event.commit();
+			}
+		}
+	}
+
+	private long entityId(@Nullable Object[] arguments) {
+		for (Object argument : arguments) {
+			if (argument instanceof Number id && this.idType.isInstance(id)) {
+				return id.longValue();
+			}
+		}
+		return 0;
+	}
+
+	private static long rows(@Nullable Object result) {
+		if (result == null) {
+			return 0;
+		}
+		if (result instanceof Collection<?> collection) {
+			return collection.size();
+		}
+		if (result instanceof Slice<?> slice) {
+			return slice.getNumberOfElements();
+		}
+		if (result instanceof Window<?> window) {
+			return window.size();
+		}
+		if (result instanceof Optional<?> optional) {
+			return optional.isPresent() ? 1 : 0;
+		}
+		return 1;
+	}
+
+}
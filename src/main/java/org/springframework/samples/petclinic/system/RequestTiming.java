@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The phases of a single request, marked by the {@link ServerTimingInterceptor} and
+ * turned into a {@link Snapshot} by the {@link ServerTimingFilter} once, just before the
+ * response is committed, so that the <code>Server-Timing</code> header and the meters
+ * report the same numbers.
+ */
+final class RequestTiming {
+
+	/**
+	 * The request attribute holding the timing of the current request.
+	 */
+	static final String ATTRIBUTE = RequestTiming.class.getName();
+
+	private final long start = System.nanoTime();
+
+	private long handlerStart;
+
+	private long handlerEnd;
+
+	private @Nullable String handler;
+
+	private @Nullable Snapshot snapshot;
+
+	void handlerStarted(String handler) {
+		this.handler = handler;
+		this.handlerStart = System.nanoTime();
+	}
+
+	void handlerCompleted() {
+		this.handlerEnd = System.nanoTime();
+	}
+
+	/**
+	 * Return the phases up to now, or the ones taken by an earlier call.
+	 * @param statistics the SQL statistics of the request, if they are collected
+	 */
+	Snapshot snapshot(@Nullable SqlStatistics statistics) {
+		Snapshot snapshot = this.snapshot;
+		if (snapshot == null) {
+			long now = System.nanoTime();
+			Map<String, Long> phases = new LinkedHashMap<>();
+			phases.put("total", now - this.start);
+			if (this.handlerStart != 0) {
+				phases.put("handler", ((this.handlerEnd != 0) ? this.handlerEnd : now) - this.handlerStart);
+			}
+			if (statistics != null) {
+				phases.put("db", statistics.getTime().toNanos());
+				phases.put("hydrate", statistics.getResultSetTime().toNanos());
+			}
+			if (this.handlerEnd != 0) {
+				phases.put("view", now - this.handlerEnd);
+			}
+			snapshot = new Snapshot(this.handler, phases);
+			this.snapshot = snapshot;
+		}
+		return snapshot;
+	}
+
+	/**
+	 * The duration of each phase of a request.
+	 *
+	 * @param handler the handler method, as <code>SimpleClassName.method</code>, if the
+	 * request reached one
+	 * @param phases the nanoseconds spent in each phase, keyed by phase name
+	 */
+	record Snapshot(@Nullable String handler, Map<String, Long> phases) {
+
+		/**
+		 * Return the phases as the value of a <code>Server-Timing</code> header, with
+		 * durations in milliseconds.
+		 */
+		String toHeader() {
+			StringBuilder header = new StringBuilder();
+			this.phases.forEach((phase, nanos) -> {
+				if (!header.isEmpty()) {
+					header.append(", ");
+				}
+				long tenths = nanos / 100_000;
+				header.append(phase).append(";dur=").append(tenths / 10).append('.').append(tenths % 10);
+				if (phase.equals("handler") && this.handler != null) {
+					header.append(";desc=\"").append(this.handler).append('"');
+				}
+			});
+			return header.toString();
+		}
+
+	}
+
+}
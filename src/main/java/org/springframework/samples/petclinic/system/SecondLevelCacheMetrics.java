@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Publishes the hit, miss and put counts of every Hibernate second-level cache region as
+ * <code>hibernate.second.level.cache.*</code> meters tagged with the region name, so they
+ * show up under the actuator metrics endpoint. Counts stay at zero unless
+ * <code>hibernate.generate_statistics</code> is enabled, and nothing is bound in contexts
+ * without JPA.
+ */
+@Component
+class SecondLevelCacheMetrics implements MeterBinder {
+
+	private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+	SecondLevelCacheMetrics(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		EntityManagerFactory entityManagerFactory = this.entityManagerFactory.getIfAvailable();
+		if (entityManagerFactory == null) {
+			return;
+		}
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		for (String region : statistics.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+			FunctionCounter
+				.builder("hibernate.second.level.cache.requests", regionStatistics, CacheRegionStatistics::getHitCount)
+				.tags("region", region, "result", "hit")
+				.description("Lookups served by the second-level cache region")
+				.register(registry);
+			FunctionCounter
+				.builder("hibernate.second.level.cache.requests", regionStatistics, CacheRegionStatistics::getMissCount)
+				.tags("region", region, "result", "miss")
+				.description("Lookups that missed the second-level cache region")
+				.register(registry);
+			FunctionCounter
+				.builder("hibernate.second.level.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+				.tags("region", region)
+				.description("Entries put into the second-level cache region")
+				.register(registry);
+		}
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Reports the phases of each request as meters and, optionally, in a
+ * <code>Server-Timing</code> header, active unless
+ * <code>petclinic.server-timing.enabled=false</code>. The header names the handler
+ * methods and exposes server-side timings to every client, so it is only sent with
+ * <code>petclinic.server-timing.header=true</code>, meant for development or for
+ * deployments where only trusted clients reach the application. Web slice tests pick this
+ * configuration up as well, without the meters.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "petclinic.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+class ServerTimingConfiguration implements WebMvcConfigurer {
+
+	@Bean
+	ServerTimingFilter serverTimingFilter(ObjectProvider<MeterRegistry> registry,
+			@Value("${petclinic.server-timing.header:false}") boolean header) {
+		return new ServerTimingFilter(registry.getIfAvailable(), header);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new ServerTimingInterceptor());
+	}
+
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.Ordered;
+import org.springframework.samples.petclinic.system.RequestTiming.Snapshot;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Splits each request into phases and reports them in a <code>Server-Timing</code>
+ * response header, which browser developer tools show next to the network timings:
+ * <ul>
+ * <li><code>total</code>: from the start of the request until its first byte;</li>
+ * <li><code>handler</code>: the controller method, named in the description, including
+ * the SQL it issued;</li>
+ * <li><code>db</code> and <code>hydrate</code>: the time spent executing SQL and turning
+ * the rows into objects, from the {@link SqlStatistics} of the request;</li>
+ * <li><code>view</code>: rendering the view after the handler returned.</li>
+ * </ul>
+ * The phases are taken just before the first byte of the body is written, which for a
+ * Thymeleaf view is after the whole page was rendered, since templates are rendered
+ * before any output is produced. The same numbers are published as the
+ * <code>petclinic.request.phase</code> timer, tagged with the phase and the handler.
+ */
+class ServerTimingFilter extends OncePerRequestFilter implements Ordered {
+
+	private static final String HEADER = "Server-Timing";
+
+	private final @Nullable MeterRegistry registry;
+
+	private final boolean header;
+
+	ServerTimingFilter(@Nullable MeterRegistry registry, boolean header) {
+		this.registry = registry;
+		this.header = header;
+	}
+
+	@Override
+	public int getOrder() {
+		// inside the SqlStatisticsFilter, whose statistics are reported
+		return Ordered.HIGHEST_PRECEDENCE + 20;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		RequestTiming timing = new RequestTiming();
+		request.setAttribute(RequestTiming.ATTRIBUTE, timing);
+		TimingResponse timed = new TimingResponse(request, response, timing);
+		try {
+			chain.doFilter(request, timed);
+		}
+		finally {
+			timed.beforeCommit();
+			record(timed.snapshot());
+		}
+	}
+
+	private void record(Snapshot snapshot) {
+		MeterRegistry registry = this.registry;
+		String handler = snapshot.handler();
+		if (registry == null || handler == null) {
+			return;
+		}
+		snapshot.phases()
+			.forEach((phase, nanos) -> Timer.builder("petclinic.request.phase")
+				.description("Time spent in each phase of a request")
+				.tag("handler", handler)
+				.tag("phase", phase)
+				.register(registry)
+				.record(nanos, TimeUnit.NANOSECONDS));
+	}
+
+	/**
+	 * Takes the snapshot of the phases, and adds the header, when the body is first
+	 * written to or the response is otherwise about to be committed.
+	 */
+	private final class TimingResponse extends HttpServletResponseWrapper {
+
+		private final HttpServletRequest request;
+
+		private final RequestTiming timing;
+
+		private @Nullable Snapshot snapshot;
+
+		private @Nullable ServletOutputStream outputStream;
+
+		private @Nullable PrintWriter writer;
+
+		TimingResponse(HttpServletRequest request, HttpServletResponse response, RequestTiming timing) {
+			super(response);
+			this.request = request;
+			this.timing = timing;
+		}
+
+		void beforeCommit() {
+			if (this.snapshot != null) {
+				return;
+			}
+			Snapshot snapshot = this.timing
+				.snapshot((this.request.getAttribute(SqlStatistics.ATTRIBUTE) instanceof SqlStatistics statistics)
+						? statistics : null);
+			this.snapshot = snapshot;
+			if (ServerTimingFilter.this.header && !isCommitted()) {
+				setHeader(HEADER, snapshot.toHeader());
+			}
+		}
+
+		Snapshot snapshot() {
+			beforeCommit();
+			Snapshot snapshot = this.snapshot;
+			if (snapshot == null) {
+				throw new IllegalStateException("No snapshot taken");
+			}
+			return snapshot;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			ServletOutputStream outputStream = this.outputStream;
+			if (outputStream == null) {
+				outputStream = new TimingOutputStream(super.getOutputStream());
+				this.outputStream = outputStream;
+			}
+			return outputStream;
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			PrintWriter writer = this.writer;
+			if (writer == null) {
+				writer = new TimingWriter(super.getWriter());
+				this.writer = writer;
+			}
+			return writer;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			beforeCommit();
+			super.flushBuffer();
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			beforeCommit();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			beforeCommit();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			beforeCommit();
+			super.sendRedirect(location);
+		}
+
+		private final class TimingOutputStream extends ServletOutputStream {
+
+			private final ServletOutputStream delegate;
+
+			TimingOutputStream(ServletOutputStream delegate) {
+				this.delegate = delegate;
+			}
+
+			@Override
+			public void write(int b) throws IOException {
+				beforeCommit();
+				this.delegate.write(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				beforeCommit();
+				this.delegate.write(b, off, len);
+			}
+
+			@Override
+			public void flush() throws IOException {
+				beforeCommit();
+				this.delegate.flush();
+			}
+
+			@Override
+			public void close() throws IOException {
+				beforeCommit();
+				this.delegate.close();
+			}
+
+			@Override
+			public boolean isReady() {
+				return this.delegate.isReady();
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				this.delegate.setWriteListener(writeListener);
+			}
+
+		}
+
+		private final class TimingWriter extends PrintWriter {
+
+			TimingWriter(PrintWriter delegate) {
+				super(delegate);
+			}
+
+			@Override
+			public void write(int c) {
+				beforeCommit();
+				super.write(c);
+			}
+
+			@Override
+			public void write(char[] buf, int off, int len) {
+				beforeCommit();
+				super.write(buf, off, len);
+			}
+
+			@Override
+			public void write(String s, int off, int len) {
+				beforeCommit();
+				super.write(s, off, len);
+			}
+
+			@Override
+			public void flush() {
+				beforeCommit();
+				super.flush();
+			}
+
+			@Override
+			public void close() {
+				beforeCommit();
+				super.close();
+			}
+
+		}
+
+	}
+
+}
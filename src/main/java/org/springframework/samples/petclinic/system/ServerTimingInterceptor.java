@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Marks where the handler of a request starts and ends in its {@link RequestTiming};
+ * everything after the handler until the response is committed is the view. Requests that
+ * did not pass through the {@link ServerTimingFilter} are left alone.
+ */
+class ServerTimingInterceptor implements HandlerInterceptor {
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (request.getAttribute(RequestTiming.ATTRIBUTE) instanceof RequestTiming timing) {
+			timing.handlerStarted((handler instanceof HandlerMethod method)
+					? method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+					: handler.getClass().getSimpleName());
+		}
+		return true;
+	}
+
+	@Override
+	public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+			@Nullable ModelAndView modelAndView) {
+		if (request.getAttribute(RequestTiming.ATTRIBUTE) instanceof RequestTiming timing) {
+			timing.handlerCompleted();
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Latency histograms and objectives for the routes of the controllers listed in
+ * <code>petclinic.slo.controllers</code>, and the <code>slo</code> actuator endpoint
+ * reporting the routes that breach them.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SloProperties.class)
+class SloConfiguration {
+
+	@Bean
+	static SloMeterFilter sloMeterFilter(SloProperties properties,
+			ObjectProvider<RequestMappingHandlerMapping> handlerMappings) {
+		return new SloMeterFilter(properties, () -> routes(handlerMappings, Set.copyOf(properties.controllers())));
+	}
+
+	@Bean
+	SloEndpoint sloEndpoint(MeterRegistry registry, SloProperties properties, SloMeterFilter filter) {
+		return new SloEndpoint(registry, properties, filter);
+	}
+
+	private static Set<String> routes(ObjectProvider<RequestMappingHandlerMapping> handlerMappings,
+			Set<String> controllers) {
+		return handlerMappings.orderedStream()
+			.flatMap((mapping) -> mapping.getHandlerMethods().entrySet().stream())
+			.filter((entry) -> controllers.contains(entry.getValue().getBeanType().getSimpleName()))
+			.flatMap((entry) -> entry.getKey().getPatternValues().stream())
+			.collect(Collectors.toSet());
+	}
+
+}
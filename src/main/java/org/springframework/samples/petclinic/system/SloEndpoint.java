@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.samples.petclinic.system.SloProperties.ServiceLevel;
+
+/**
+ * Actuator endpoint, <code>/actuator/slo</code>, listing the routes currently breaching
+ * their latency objective: those whose percentile at the objective's target, computed
+ * over the last {@link SloProperties#window() window}, is above the objective's latency.
+ * Only successful and redirected requests count; failed ones are a matter of availability
+ * rather than latency.
+ */
+@Endpoint(id = "slo")
+class SloEndpoint {
+
+	private final MeterRegistry registry;
+
+	private final SloProperties properties;
+
+	private final SloMeterFilter filter;
+
+	SloEndpoint(MeterRegistry registry, SloProperties properties, SloMeterFilter filter) {
+		this.registry = registry;
+		this.properties = properties;
+		this.filter = filter;
+	}
+
+	@ReadOperation
+	public SloReport breaches() {
+		List<RouteStatus> breaching = new ArrayList<>();
+		for (Timer timer : this.registry.find(SloMeterFilter.METRIC).timers()) {
+			String outcome = timer.getId().getTag("outcome");
+			if (!this.filter.isMeasured(timer.getId())
+					|| !("SUCCESS".equals(outcome) || "REDIRECTION".equals(outcome))) {
+				continue;
+			}
+			String uri = String.valueOf(timer.getId().getTag("uri"));
+			ServiceLevel objective = this.properties.objective(uri);
+			double latency = percentile(timer, objective.target());
+			if (latency > objective.latency().toNanos() / 1e6) {
+				breaching.add(new RouteStatus(String.valueOf(timer.getId().getTag("method")), uri,
+						String.valueOf(timer.getId().getTag("status")), objective.latency().toMillis(),
+						objective.target(), latency, timer.count()));
+			}
+		}
+		breaching.sort(Comparator.comparing(RouteStatus::uri).thenComparing(RouteStatus::method));
+		return new SloReport(this.filter.routes().size(), this.properties.window().toString(), breaching);
+	}
+
+	private static double percentile(Timer timer, double target) {
+		for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+			if (value.percentile() == target) {
+				return value.value(TimeUnit.MILLISECONDS);
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * The routes breaching their objective.
+	 *
+	 * @param routes the number of routes measured
+	 * @param window how far back the percentiles look
+	 * @param breaching the breaching routes, by URI pattern and method
+	 */
+	record SloReport(int routes, String window, List<RouteStatus> breaching) {
+
+	}
+
+	/**
+	 * A route breaching its objective.
+	 *
+	 * @param method the HTTP method
+	 * @param uri the URI pattern
+	 * @param status the HTTP status of the responses
+	 * @param objectiveMillis the latency of the objective
+	 * @param target the share of requests that should be within the latency
+	 * @param percentileMillis the latency of that share of requests in the window
+	 * @param count the number of requests since startup
+	 */
+	record RouteStatus(String method, String uri, String status, long objectiveMillis, double target,
+			double percentileMillis, long count) {
+
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.jspecify.annotations.Nullable;
+import org.springframework.samples.petclinic.system.SloProperties.ServiceLevel;
+
+/**
+ * Gives the <code>http.server.requests</code> timers of the measured routes a latency
+ * histogram with the SLO buckets of {@link SloProperties}, and has them compute the
+ * configured percentiles over the SLO window. Other routes, such as static resources and
+ * actuator endpoints, keep the default configuration.
+ */
+class SloMeterFilter implements MeterFilter {
+
+	static final String METRIC = "http.server.requests";
+
+	private final SloProperties properties;
+
+	private final Supplier<Set<String>> routeSupplier;
+
+	private volatile @Nullable Set<String> routes;
+
+	/**
+	 * Create a filter for the given routes, which are looked up when the first request
+	 * timer is registered, once the handler mappings are known.
+	 * @param properties the objectives
+	 * @param routes the URI patterns of the measured routes
+	 */
+	SloMeterFilter(SloProperties properties, Supplier<Set<String>> routes) {
+		this.properties = properties;
+		this.routeSupplier = routes;
+	}
+
+	/**
+	 * Return the URI patterns of the measured routes.
+	 */
+	Set<String> routes() {
+		Set<String> routes = this.routes;
+		if (routes == null) {
+			routes = Set.copyOf(this.routeSupplier.get());
+			this.routes = routes;
+		}
+		return routes;
+	}
+
+	/**
+	 * Return whether the given timer is the request timer of a measured route.
+	 */
+	boolean isMeasured(Meter.Id id) {
+		String uri = id.getTag("uri");
+		return id.getName().equals(METRIC) && uri != null && routes().contains(uri);
+	}
+
+	@Override
+	public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+		if (!isMeasured(id)) {
+			return config;
+		}
+		ServiceLevel objective = this.properties.objective(String.valueOf(id.getTag("uri")));
+		double[] percentiles = DoubleStream
+			.concat(this.properties.percentiles().stream().mapToDouble(Double::doubleValue),
+					DoubleStream.of(objective.target()))
+			.distinct()
+			.sorted()
+			.toArray();
+		double[] boundaries = DoubleStream
+			.concat(this.properties.boundaries().stream().mapToDouble(Duration::toNanos),
+					DoubleStream.of(objective.latency().toNanos()))
+			.distinct()
+			.sorted()
+			.toArray();
+		return DistributionStatisticConfig.builder()
+			.percentiles(percentiles)
+			.serviceLevelObjectives(boundaries)
+			.percentilesHistogram(this.properties.percentilesHistogram())
+			.expiry(this.properties.window())
+			.build()
+			.merge(config);
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Latency objectives of the controller endpoints, bound from
+ * <code>petclinic.slo.*</code>. An objective asks that a share of the requests to a
+ * route, the target, completes within a latency; routes are identified by URI pattern,
+ * and settings a route leaves out come from the default objective, e.g.
+ *
+ * <pre>
+ * petclinic.slo.default-objective.latency=500ms
+ * petclinic.slo.default-objective.target=0.99
+ * petclinic.slo.routes.[/owners/{ownerId}].latency=200ms
+ * </pre>
+ *
+ * @param controllers the simple names of the controllers whose routes are measured
+ * @param boundaries the SLO buckets of the latency histogram of every route, to which the
+ * latency of each objective is added
+ * @param percentiles the percentiles computed in the application and published for every
+ * route, to which the target of each objective is added
+ * @param percentilesHistogram whether to also publish the fine-grained histogram that
+ * monitoring systems aggregate percentiles from
+ * @param window how far back the percentiles, and so the breaches, look
+ * @param defaultObjective the objective of routes without one of their own
+ * @param routes the objectives keyed by URI pattern
+ */
+@ConfigurationProperties("petclinic.slo")
+record SloProperties(@DefaultValue( {
+		"OwnerController", "PetController", "VisitController", "VetController" }) List<String> controllers,
+		@DefaultValue({ "50ms", "100ms", "200ms", "500ms", "1s", "2s" }) List<Duration> boundaries,
+		@DefaultValue({ "0.5", "0.95", "0.99" }) List<Double> percentiles,
+		@DefaultValue("false") boolean percentilesHistogram, @DefaultValue("2m") Duration window,
+		@DefaultValue Objective defaultObjective, @DefaultValue Map<String, Objective> routes){
+
+	private static final Duration DEFAULT_LATENCY = Duration.ofMillis(500);
+
+	private static final double DEFAULT_TARGET = 0.99;
+
+	/**
+	 * Return the objective of the route with the given URI pattern.
+	 */
+	ServiceLevel objective(String uri) {
+		Objective objective = this.routes.get(uri);
+		Objective resolved = (objective != null) ? objective.orElse(this.defaultObjective) : this.defaultObjective;
+		return new ServiceLevel((resolved.latency() != null) ? resolved.latency() : DEFAULT_LATENCY,
+				(resolved.target() != null) ? resolved.target() : DEFAULT_TARGET);
+	}
+
+	/**
+	 * A latency objective as configured; settings left out are inherited.
+	 *
+	 * @param latency the latency requests should complete within
+	 * @param target the share of requests, between 0 and 1, that should complete within
+	 * the latency
+	 */
+	record Objective(@Nullable Duration latency, @Nullable Double target) {
+
+		Objective orElse(Objective other) {
+			return new Objective((this.latency != null) ? this.latency : other.latency,
+					(this.target != null) ? this.target : other.target);
+		}
+
+	}
+
+	/**
+	 * The objective that applies to a route.
+	 *
+	 * @param latency the latency requests should complete within
+	 * @param target the share of requests that should complete within the latency
+	 */
+	record ServiceLevel(Duration latency, double target) {
+
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.samples.petclinic.system.SlowQueryLog.QuerySummary;
+
+/**
+ * Actuator endpoint, <code>/actuator/slowqueries</code>, listing the statements of the
+ * {@link SlowQueryLog} with the highest total execution time; <code>?top=n</code> sets
+ * how many, and a <code>DELETE</code> starts the log afresh.
+ * <p>
+ * The endpoint reveals the statements the application runs and, when
+ * <code>petclinic.sql.slow-queries.parameters</code> is on, the values bound to them, and
+ * lets its caller wipe the log. Outside of development it must be secured, for example by
+ * exposing it only on a separate management port or behind an authenticated
+ * <code>SecurityFilterChain</code>, rather than through
+ * <code>management.endpoints.web.exposure.include=*</code>.
+ */
+@Endpoint(id = "slowqueries")
+class SlowQueryEndpoint {
+
+	private final SlowQueryLog log;
+
+	private final SlowQueryProperties properties;
+
+	SlowQueryEndpoint(SlowQueryLog log, SlowQueryProperties properties) {
+		this.log = log;
+		this.properties = properties;
+	}
+
+	@ReadOperation
+	public SlowQueryReport queries(@Nullable Integer top) {
+		return new SlowQueryReport(this.properties.threshold().toMillis(),
+				this.log.top((top != null) ? top : this.properties.top()));
+	}
+
+	@DeleteOperation
+	public void clear() {
+		this.log.clear();
+	}
+
+	/**
+	 * The statements with the highest total execution time.
+	 *
+	 * @param thresholdMillis the execution time from which executions are sampled
+	 * @param queries the statements, by descending total execution time
+	 */
+	record SlowQueryReport(long thresholdMillis, List<QuerySummary> queries) {
+
+	}
+
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Aggregates the executions of SQL statements by fingerprint: the statement with its
+ * literals replaced by <code>?</code>, its whitespace collapsed and its <code>IN</code>
+ * lists shortened to one element, so the executions of a query that differ only in their
+ * values or batch size are counted together. For each fingerprint it keeps the number of
+ * executions, their total and maximum time, the 99th percentile of the most recent ones
+ * and, for executions slower than the threshold, a few samples with their bind
+ * parameters.
+ * <p>
+ * Memory is bounded: at most <code>max-queries</code> fingerprints are tracked, in a
+ * Caffeine cache that drops the least used first, each holding {@value #RECENT} recent
+ * execution times and <code>samples</code> samples.
+ * </p>
+ */
+class SlowQueryLog {
+
+	/**
+	 * The number of recent execution times the percentile of a statement is computed
+	 * from.
+	 */
+	static final int RECENT = 256;
+
+	private static final int MAX_PARAMETER_LENGTH = 64;
+
+	private static final Pattern IN_LIST = Pattern.compile("(?i)\\b(in) ?\\( ?\\?(?: ?, ?\\?)+ ?\\)");
+
+	private static final Log logger = LogFactory.getLog(SlowQueryLog.class);
+
+	private final SlowQueryProperties properties;
+
+	private final long thresholdNanos;
+
+	private final Cache<String, String> fingerprints;
+
+	private final Cache<String, QueryStatistics> queries;
+
+	SlowQueryLog(SlowQueryProperties properties) {
+		this.properties = properties;
+		this.thresholdNanos = properties.threshold().toNanos();
+		this.fingerprints = Caffeine.newBuilder().maximumSize(properties.maxQueries() * 2L).build();
+		this.queries = Caffeine.newBuilder().maximumSize(properties.maxQueries()).build();
+	}
+
+	/**
+	 * Return whether statements should collect their bind parameters for this log.
+	 */
+	boolean capturesParameters() {
+		return this.properties.parameters();
+	}
+
+	/**
+	 * Return whether an execution that took the given time is slow, so that its bind
+	 * parameters are worth passing to {@link #record}.
+	 */
+	boolean isSlow(long nanos) {
+		return nanos >= this.thresholdNanos;
+	}
+
+	/**
+	 * Record an execution of the given statement.
+	 * @param sql the statement as prepared
+	 * @param nanos the execution time
+	 * @param parameters the bind parameters in index order, if collected; only needed for
+	 * {@link #isSlow slow} executions
+	 */
+	void record(String sql, long nanos, @Nullable List<@Nullable Object> parameters) {
+		String fingerprint = this.fingerprints.get(sql, SlowQueryLog::fingerprint);
+		QueryStatistics statistics = this.queries.get(fingerprint, QueryStatistics::new);
+		Sample sample = null;
+		if (isSlow(nanos)) {
+			sample = new Sample(Instant.now(), nanos / 1e6, (parameters != null) ? format(parameters) : List.of());
+			if (logger.isDebugEnabled()) {
+				logger.debug("Slow statement (" + Math.round(sample.millis()) + "ms) " + fingerprint + " "
+						+ sample.parameters());
+			}
+		}
+		statistics.record(nanos, sample, this.properties.samples());
+	}
+
+	/**
+	 * Return the statements with the highest total execution time.
+	 * @param limit the maximum number of statements returned
+	 */
+	List<QuerySummary> top(int limit) {
+		return this.queries.asMap()
+			.values()
+			.stream()
+			.map(QueryStatistics::summary)
+			.sorted(Comparator.comparingDouble(QuerySummary::totalMillis).reversed())
+			.limit(limit)
+			.toList();
+	}
+
+	/**
+	 * Forget every statement recorded so far.
+	 */
+	void clear() {
+		this.queries.invalidateAll();
+	}
+
+	/**
+	 * Return the fingerprint of the given statement.
+	 */
+	static String fingerprint(String sql) {
+		int length = sql.length();
+		StringBuilder fingerprint = new StringBuilder(length);
+		boolean space = false;
+		for (int i = 0; i < length; i++) {
+			char c = sql.charAt(i);
+			if (Character.isWhitespace(c)) {
+				space = true;
+				continue;
+			}
+			if (space && !fingerprint.isEmpty()) {
+				fingerprint.append(' ');
+			}
+			space = false;
+			if (c == '\'') {
+				i = endOfString(sql, i + 1);
+				fingerprint.append('?');
+			}
+			else if (Character.isDigit(c) && !continuesIdentifier(fingerprint)) {
+				while (i + 1 < length && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+					i++;
+				}
+				fingerprint.append('?');
+			}
+			else {
+				fingerprint.append(c);
+			}
+		}
+		return IN_LIST.matcher(fingerprint).replaceAll("$1 (?)");
+	}
+
+	private static int endOfString(String sql, int start) {
+		int i = start;
+		while (i < sql.length()) {
+			if (sql.charAt(i) == '\'') {
+				if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+					i += 2;
+					continue;
+				}
+				return i;
+			}
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean continuesIdentifier(StringBuilder fingerprint) {
+		if (fingerprint.isEmpty()) {
+			return false;
+		}
+		char previous = fingerprint.charAt(fingerprint.length() - 1);
+		return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$';
+	}
+
+	private static List<String> format(List<@Nullable Object> parameters) {
+		List<String> formatted = new ArrayList<>(parameters.size());
+		for (Object value : parameters) {
+			formatted.add(format(value));
+		}
+		return formatted;
+	}
+
+	private static String format(@Nullable Object value) {
+		if (value == null) {
+			return "null";
+		}
+		if (value instanceof byte[] bytes) {
+			return "<" + bytes.length + " bytes>";
+		}
+		if (value instanceof InputStream || value instanceof Reader || value instanceof Blob || value instanceof Clob) {
+			return "<" + value.getClass().getSimpleName() + ">";
+		}
+		String text = value.toString();
+		if (text.length() > MAX_PARAMETER_LENGTH) {
+			text = text.substring(0, MAX_PARAMETER_LENGTH) + "...";
+		}
+		return (value instanceof CharSequence) ? "'" + text + "'" : text;
+	}
+
+	/**
+	 * The executions of one fingerprint.
+	 */
+	private static final class QueryStatistics {
+
+		private final String fingerprint;
+
+		private final long[] recent = new long[RECENT];
+
+		private final ArrayDeque<Sample> samples = new ArrayDeque<>();
+
+		private long count;
+
+		private long slow;
+
+		private long totalNanos;
+
+		private long maxNanos;
+
+		QueryStatistics(String fingerprint) {
+			this.fingerprint = fingerprint;
+		}
+
+		synchronized void record(long nanos, @Nullable Sample sample, int maxSamples) {
+			this.recent[(int) (this.count % RECENT)] = nanos;
+			this.count++;
+			this.totalNanos += nanos;
+			this.maxNanos = Math.max(this.maxNanos, nanos);
+			if (sample != null) {
+				this.slow++;
+				if (this.samples.size() == maxSamples) {
+					this.samples.removeLast();
+				}
+				if (maxSamples > 0) {
+					this.samples.addFirst(sample);
+				}
+			}
+		}
+
+		synchronized QuerySummary summary() {
+			long[] recent = Arrays.copyOf(this.recent, (int) Math.min(this.count, RECENT));
+			Arrays.sort(recent);
+			long p99 = (recent.length > 0) ? recent[(int) Math.ceil(recent.length * 0.99) - 1] : 0;
+			return new QuerySummary(this.fingerprint, this.count, this.slow, this.totalNanos / 1e6,
+					(this.count > 0) ? this.totalNanos / 1e6 / this.count : 0, this.maxNanos / 1e6, p99 / 1e6,
+					List.copyOf(this.samples));
+		}
+
+	}
+
+	/**
+	 * The executions of one statement.
+	 *
+	 * @param fingerprint the normalized statement
+	 * @param count the number of executions
+	 * @param slow the number of executions at or above the threshold
+	 * @param totalMillis the total execution time
+	 * @param meanMillis the mean execution time
+	 * @param maxMillis the longest execution time
+	 * @param p99Millis the 99th percentile of the {@value SlowQueryLog#RECENT} most
+	 * recent execution times
+	 * @param samples the most recent slow executions
+	 */
+	record QuerySummary(String fingerprint, long count, long slow, double totalMillis, double meanMillis,
+			double maxMillis, double p99Millis, List<Sample> samples) {
+
+	}
+
+	/**
+	 * A slow execution.
+	 *
+	 * @param time when it completed
+	 * @param millis its execution time
+	 * @param parameters its bind parameters, in index order
+	 */
+	record Sample(Instant time, double millis, List<String> parameters) {
+
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the {@link SlowQueryLog}, bound from
+ * <code>petclinic.sql.slow-queries.*</code>.
+ *
+ * @param threshold the execution time from which an execution is slow, and has its bind
+ * parameters sampled
+ * @param maxQueries the number of distinct statements tracked; the least used are dropped
+ * first
+ * @param samples the number of slow executions kept per statement, most recent first
+ * @param parameters whether the bind parameters of slow executions are kept, off by
+ * default as they may hold personal data that <code>/actuator/slowqueries</code> would
+ * then show
+ * @param top the number of statements listed by default, by total execution time
+ */
+@ConfigurationProperties("petclinic.sql.slow-queries")
+record SlowQueryProperties(@DefaultValue("100ms") Duration threshold, @DefaultValue("500") int maxQueries,
+		@DefaultValue("5") int samples, @DefaultValue("false") boolean parameters, @DefaultValue("20") int top) {
+
+}
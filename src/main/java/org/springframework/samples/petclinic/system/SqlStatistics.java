@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The SQL statements a unit of work, usually an HTTP request, sent through the
+ * {@link SqlStatisticsDataSource}: how many were executed, how many rows their result
+ * sets returned, and how long the calls into the driver took. Statistics are bound to the
+ * thread doing the work, and follow it onto the application task executor, so reads
+ * forked by a request are counted with it.
+ * <p>
+ * The statistics of a request are available from the request attribute {@link #ATTRIBUTE}
+ * once the {@link SqlStatisticsFilter} has run. Tests that call repositories directly can
+ * use {@link #measure(Runnable)}:
+ * </p>
+ * <pre class="code">
+ * SqlStatistics statistics = SqlStatistics.measure(() -&gt; owners.findById(6));
+ * assertThat(statistics.getStatements()).isEqualTo(1);
+ * </pre>
+ */
+public final class SqlStatistics {
+
+	/**
+	 * The request attribute holding the statistics of the current request.
+	 */
+	public static final String ATTRIBUTE = SqlStatistics.class.getName();
+
+	private static final ThreadLocal<@Nullable SqlStatistics> current = new ThreadLocal<>();
+
+	private final LongAdder statements = new LongAdder();
+
+	private final LongAdder rows = new LongAdder();
+
+	private final LongAdder nanos = new LongAdder();
+
+	private final LongAdder resultSetNanos = new LongAdder();
+
+	/**
+	 * Run the action with new statistics bound to the current thread.
+	 * @param action the work to measure
+	 * @return the statements the action executed
+	 */
+	public static SqlStatistics measure(Runnable action) {
+		SqlStatistics statistics = new SqlStatistics();
+		try (Scope scope = statistics.bind()) {
+			action.run();
+		}
+		return statistics;
+	}
+
+	/**
+	 * Return the statistics bound to the current thread, if any.
+	 */
+	static @Nullable SqlStatistics current() {
+		return current.get();
+	}
+
+	/**
+	 * Bind these statistics to the current thread until the returned scope is closed.
+	 */
+	Scope bind() {
+		SqlStatistics previous = current.get();
+		current.set(this);
+		return () -> {
+			if (previous != null) {
+				current.set(previous);
+			}
+			else {
+				current.remove();
+			}
+		};
+	}
+
+	/**
+	 * Return the number of statements executed; a JDBC batch counts as one.
+	 */
+	public long getStatements() {
+		return this.statements.sum();
+	}
+
+	/**
+	 * Return the number of rows read from result sets.
+	 */
+	public long getRows() {
+		return this.rows.sum();
+	}
+
+	/**
+	 * Return the time spent executing statements and reading their results.
+	 */
+	public Duration getTime() {
+		return Duration.ofNanos(this.nanos.sum());
+	}
+
+	/**
+	 * Return the time result sets were open outside of the calls into the driver, that is
+	 * the time spent turning rows into objects, such as Hibernate hydrating entities.
+	 */
+	public Duration getResultSetTime() {
+		return Duration.ofNanos(this.resultSetNanos.sum());
+	}
+
+	void recordStatement(long nanos) {
+		this.statements.increment();
+		this.nanos.add(nanos);
+	}
+
+	void recordFetch(boolean row, long nanos) {
+		if (row) {
+			this.rows.increment();
+		}
+		this.nanos.add(nanos);
+	}
+
+	void recordResultSet(long nanos) {
+		this.resultSetNanos.add(nanos);
+	}
+
+	@Override
+	public String toString() {
+		return getStatements() + " statements, " + getRows() + " rows, " + getTime().toMillis() + "ms";
+	}
+
+	/**
+	 * The binding of statistics to a thread.
+	 */
+	@FunctionalInterface
+	interface Scope extends AutoCloseable {
+
+		@Override
+		void close();
+
+	}
+
+}
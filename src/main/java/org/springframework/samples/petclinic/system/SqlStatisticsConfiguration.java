@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Counts the SQL statements, rows and database time of every request, active unless
+ * <code>petclinic.sql.statistics.enabled=false</code>.
+ * <ul>
+ * <li>Every {@link DataSource} is wrapped in a {@link SqlStatisticsDataSource}.</li>
+ * <li>Tasks submitted to the application task executor, such as the concurrent reads of
+ * the owner details page, are counted with the request that submitted them.</li>
+ * <li>A {@link SqlStatisticsFilter} publishes the counts per endpoint and checks them
+ * against the budgets under <code>petclinic.sql</code>.</li>
+ * <li>Unless <code>petclinic.sql.slow-queries.enabled=false</code>, every execution of a
+ * prepared statement is recorded in a {@link SlowQueryLog}, reported by the
+ * <code>slowqueries</code> actuator endpoint.</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "petclinic.sql.statistics.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties({ SqlStatisticsProperties.class, SlowQueryProperties.class })
+public class SqlStatisticsConfiguration {
+
+	@Bean
+	static BeanPostProcessor sqlStatisticsDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueries) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return (bean instanceof DataSource dataSource && !(bean instanceof SqlStatisticsDataSource))
+						? new SqlStatisticsDataSource(dataSource, slowQueries.getIfAvailable()) : bean;
+			}
+
+		};
+	}
+
+	@Bean
+	TaskDecorator sqlStatisticsTaskDecorator() {
+		return (task) -> {
+			SqlStatistics statistics = SqlStatistics.current();
+			if (statistics == null) {
+				return task;
+			}
+			return () -> {
+				try (SqlStatistics.Scope scope = statistics.bind()) {
+					task.run();
+				}
+			};
+		};
+	}
+
+	@Bean
+	@ConditionalOnWebApplication(type = Type.SERVLET)
+	SqlStatisticsFilter sqlStatisticsFilter(MeterRegistry registry, SqlStatisticsProperties properties) {
+		return new SqlStatisticsFilter(registry, properties);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "petclinic.sql.slow-queries.enabled", havingValue = "true", matchIfMissing = true)
+	SlowQueryLog slowQueryLog(SlowQueryProperties properties) {
+		return new SlowQueryLog(properties);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "petclinic.sql.slow-queries.enabled", havingValue = "true", matchIfMissing = true)
+	SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog log, SlowQueryProperties properties) {
+		return new SlowQueryEndpoint(log, properties);
+	}
+
+}
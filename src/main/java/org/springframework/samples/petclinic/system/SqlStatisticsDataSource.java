@@ -0,0 +1,285 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * A {@link DataSource} that records the statements executed on its connections, and the
+ * rows read from their result sets, in the {@link SqlStatistics} bound to the executing
+ * thread. The statistics are looked up when a statement is executed rather than when the
+ * connection is checked out, so a connection opened by a surrounding transaction is
+ * measured too. Statements executed without statistics, such as those of scheduled jobs,
+ * are neither timed nor have their result sets wrapped, unless a {@link SlowQueryLog} is
+ * given, which records every execution of a prepared statement.
+ */
+class SqlStatisticsDataSource extends DelegatingDataSource {
+
+	private final @Nullable SlowQueryLog slowQueries;
+
+	SqlStatisticsDataSource(DataSource target) {
+		this(target, null);
+	}
+
+	SqlStatisticsDataSource(DataSource target, @Nullable SlowQueryLog slowQueries) {
+		super(target);
+		this.slowQueries = slowQueries;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return measured(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return measured(super.getConnection(username, password));
+	}
+
+	private Connection measured(Connection connection) {
+		return proxy(Connection.class, new ConnectionHandler(connection, this.slowQueries));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(SqlStatisticsDataSource.class.getClassLoader(), new Class<?>[] { type },
+				handler);
+	}
+
+	/**
+	 * Base class of the handlers, delegating every call to the JDBC object they wrap.
+	 */
+	private abstract static class DelegatingHandler implements InvocationHandler {
+
+		protected final Object target;
+
+		DelegatingHandler(Object target) {
+			this.target = target;
+		}
+
+		@Override
+		public @Nullable Object invoke(Object proxy, Method method, @Nullable Object @Nullable [] args)
+				throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					return args != null && proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return "Measured [" + this.target + "]";
+				default:
+			}
+			return invoke(method, args);
+		}
+
+		protected abstract @Nullable Object invoke(Method method, @Nullable Object @Nullable [] args) throws Throwable;
+
+		protected final @Nullable Object delegate(Method method, @Nullable Object @Nullable [] args) throws Throwable {
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+
+	}
+
+	/**
+	 * Wraps the statements created by a connection.
+	 */
+	private static final class ConnectionHandler extends DelegatingHandler {
+
+		private final @Nullable SlowQueryLog slowQueries;
+
+		ConnectionHandler(Connection target, @Nullable SlowQueryLog slowQueries) {
+			super(target);
+			this.slowQueries = slowQueries;
+		}
+
+		@Override
+		protected @Nullable Object invoke(Method method, @Nullable Object @Nullable [] args) throws Throwable {
+			Object result = delegate(method, args);
+			if (result == null) {
+				return null;
+			}
+			return switch (method.getName()) {
+				case "createStatement" -> proxy(Statement.class, new StatementHandler(result, null, this.slowQueries));
+				case "prepareStatement" ->
+					proxy(PreparedStatement.class, new StatementHandler(result, sql(args), this.slowQueries));
+				case "prepareCall" ->
+					proxy(CallableStatement.class, new StatementHandler(result, sql(args), this.slowQueries));
+				default -> result;
+			};
+		}
+
+		private static @Nullable String sql(@Nullable Object @Nullable [] args) {
+			return (args != null && args.length > 0 && args[0] instanceof String sql) ? sql : null;
+		}
+
+	}
+
+	/**
+	 * Times the executions of a statement and wraps the result sets it returns. When the
+	 * statement was prepared and there is a slow query log, its executions are recorded
+	 * there too. If the log keeps bind parameters, each one set is only referenced from a
+	 * reused slot, and the slots are copied for the executions that turn out slow.
+	 */
+	private static final class StatementHandler extends DelegatingHandler {
+
+		private final @Nullable String sql;
+
+		private final @Nullable SlowQueryLog slowQueries;
+
+		private final @Nullable BindParameters parameters;
+
+		StatementHandler(Object target, @Nullable String sql, @Nullable SlowQueryLog slowQueries) {
+			super(target);
+			this.sql = sql;
+			this.slowQueries = (sql != null) ? slowQueries : null;
+			this.parameters = (this.slowQueries != null && this.slowQueries.capturesParameters()) ? new BindParameters()
+					: null;
+		}
+
+		@Override
+		protected @Nullable Object invoke(Method method, @Nullable Object @Nullable [] args) throws Throwable {
+			SqlStatistics statistics = SqlStatistics.current();
+			if (statistics == null && this.slowQueries == null) {
+				return delegate(method, args);
+			}
+			String name = method.getName();
+			if (!name.startsWith("execute")) {
+				if (this.parameters != null) {
+					this.parameters.collect(name, args);
+				}
+				Object result = delegate(method, args);
+				return (statistics != null && result instanceof ResultSet && name.equals("getResultSet"))
+						? proxy(ResultSet.class, new ResultSetHandler(result, statistics)) : result;
+			}
+			long start = System.nanoTime();
+			try {
+				Object result = delegate(method, args);
+				return (statistics != null && result instanceof ResultSet)
+						? proxy(ResultSet.class, new ResultSetHandler(result, statistics)) : result;
+			}
+			finally {
+				long nanos = System.nanoTime() - start;
+				if (statistics != null) {
+					statistics.recordStatement(nanos);
+				}
+				if (this.slowQueries != null && this.sql != null) {
+					this.slowQueries.record(this.sql, nanos, (this.parameters != null && this.slowQueries.isSlow(nanos))
+							? this.parameters.copy() : null);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * The bind parameters of a prepared statement, by index, set since it was prepared or
+	 * its parameters were cleared.
+	 */
+	private static final class BindParameters {
+
+		private @Nullable Object[] values = new Object[8];
+
+		private int size;
+
+		void collect(String name, @Nullable Object @Nullable [] args) {
+			if (name.equals("clearParameters")) {
+				Arrays.fill(this.values, 0, this.size, null);
+				this.size = 0;
+			}
+			else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index
+					&& index > 0) {
+				if (index > this.values.length) {
+					this.values = Arrays.copyOf(this.values, Math.max(index, this.values.length * 2));
+				}
+				this.values[index - 1] = name.equals("setNull") ? null : args[1];
+				this.size = Math.max(this.size, index);
+			}
+		}
+
+		List<@Nullable Object> copy() {
+			return Arrays.asList(Arrays.copyOf(this.values, this.size));
+		}
+
+	}
+
+	/**
+	 * Counts the rows read from a result set and times the calls fetching them. When the
+	 * result set is closed, the rest of the time it was open is recorded as time spent
+	 * processing its rows.
+	 */
+	private static final class ResultSetHandler extends DelegatingHandler {
+
+		private final SqlStatistics statistics;
+
+		private final long opened = System.nanoTime();
+
+		private long fetchNanos;
+
+		private boolean closed;
+
+		ResultSetHandler(Object target, SqlStatistics statistics) {
+			super(target);
+			this.statistics = statistics;
+		}
+
+		@Override
+		protected @Nullable Object invoke(Method method, @Nullable Object @Nullable [] args) throws Throwable {
+			String name = method.getName();
+			if (name.equals("close") && !this.closed) {
+				this.closed = true;
+				this.statistics.recordResultSet(System.nanoTime() - this.opened - this.fetchNanos);
+			}
+			if (!name.equals("next")) {
+				return delegate(method, args);
+			}
+			long start = System.nanoTime();
+			boolean row = false;
+			try {
+				Object result = delegate(method, args);
+				row = Boolean.TRUE.equals(result);
+				return result;
+			}
+			finally {
+				long nanos = System.nanoTime() - start;
+				this.fetchNanos += nanos;
+				this.statistics.recordFetch(row, nanos);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.samples.petclinic.system.SqlStatisticsProperties.Budget;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Collects the {@link SqlStatistics} of each request and publishes them per endpoint as
+ * the <code>petclinic.sql.statements</code>, <code>petclinic.sql.rows</code> and
+ * <code>petclinic.sql.time</code> meters, tagged like <code>http.server.requests</code>
+ * with the method and URI pattern. A request that goes over the
+ * {@link SqlStatisticsProperties budget} of its endpoint is logged as a warning and
+ * counted in <code>petclinic.sql.budget.exceeded</code>, tagged with the limit it broke.
+ */
+class SqlStatisticsFilter extends OncePerRequestFilter implements Ordered {
+
+	private static final Log logger = LogFactory.getLog(SqlStatisticsFilter.class);
+
+	private static final String UNKNOWN = "UNKNOWN";
+
+	private final MeterRegistry registry;
+
+	private final SqlStatisticsProperties properties;
+
+	SqlStatisticsFilter(MeterRegistry registry, SqlStatisticsProperties properties) {
+		this.registry = registry;
+		this.properties = properties;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE + 10;
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		SqlStatistics statistics = (request.getAttribute(SqlStatistics.ATTRIBUTE) instanceof SqlStatistics existing)
+				? existing : new SqlStatistics();
+		request.setAttribute(SqlStatistics.ATTRIBUTE, statistics);
+		try (SqlStatistics.Scope scope = statistics.bind()) {
+			chain.doFilter(request, response);
+		}
+		finally {
+			if (!isAsyncStarted(request)) {
+				record(request, statistics);
+			}
+		}
+	}
+
+	private void record(HttpServletRequest request, SqlStatistics statistics) {
+		String uri = (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern)
+				? pattern : UNKNOWN;
+		Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+		long statements = statistics.getStatements();
+		long rows = statistics.getRows();
+		Duration time = statistics.getTime();
+		DistributionSummary.builder("petclinic.sql.statements")
+			.description("SQL statements executed per request")
+			.tags(tags)
+			.register(this.registry)
+			.record(statements);
+		DistributionSummary.builder("petclinic.sql.rows")
+			.description("Rows read from SQL result sets per request")
+			.baseUnit("rows")
+			.tags(tags)
+			.register(this.registry)
+			.record(rows);
+		Timer.builder("petclinic.sql.time")
+			.description("Time spent in the database per request")
+			.tags(tags)
+			.register(this.registry)
+			.record(time);
+
+		Budget budget = this.properties.budget(uri);
+		List<String> exceeded = new ArrayList<>(3);
+		if (budget.statements() != null && statements > budget.statements()) {
+			exceeded.add("statements");
+		}
+		if (budget.rows() != null && rows > budget.rows()) {
+			exceeded.add("rows");
+		}
+		if (budget.time() != null && time.compareTo(budget.time()) > 0) {
+			exceeded.add("time");
+		}
+		if (exceeded.isEmpty()) {
+			return;
+		}
+		for (String limit : exceeded) {
+			Counter.builder("petclinic.sql.budget.exceeded")
+				.description("Requests that went over the SQL budget of their endpoint")
+				.tags(tags)
+				.tag("limit", limit)
+				.register(this.registry)
+				.increment();
+		}
+		if (logger.isWarnEnabled()) {
+			logger.warn(request.getMethod() + " " + uri + " went over its SQL budget of " + budget + ": " + statistics);
+		}
+	}
+
+}
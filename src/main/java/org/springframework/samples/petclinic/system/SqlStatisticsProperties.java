@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * SQL budgets of the endpoints, bound from <code>petclinic.sql.*</code>. An endpoint is
+ * identified by its URI pattern, and settings it leaves out fall back to the default
+ * budget, e.g.
+ *
+ * <pre>
+ * petclinic.sql.default-budget.statements=10
+ * petclinic.sql.budgets.[/owners/{ownerId}].statements=4
+ * </pre>
+ *
+ * @param defaultBudget the budget of endpoints without one of their own
+ * @param budgets the budgets keyed by URI pattern
+ */
+@ConfigurationProperties("petclinic.sql")
+record SqlStatisticsProperties(@DefaultValue Budget defaultBudget, @DefaultValue Map<String, Budget> budgets) {
+
+	/**
+	 * Return the budget of the endpoint with the given URI pattern.
+	 */
+	Budget budget(String uri) {
+		Budget budget = this.budgets.get(uri);
+		return (budget != null) ? budget.orElse(this.defaultBudget) : this.defaultBudget;
+	}
+
+	/**
+	 * Limits on the SQL a single request may issue; any limit left out is not checked.
+	 *
+	 * @param statements the maximum number of statements executed
+	 * @param rows the maximum number of rows read
+	 * @param time the maximum time spent in the database
+	 */
+	record Budget(@Nullable Long statements, @Nullable Long rows, @Nullable Duration time) {
+
+		Budget orElse(Budget other) {
+			return new Budget((this.statements != null) ? this.statements : other.statements,
+					(this.rows != null) ? this.rows : other.rows, (this.time != null) ? this.time : other.time);
+		}
+
+		@Override
+		public String toString() {
+			List<String> limits = new ArrayList<>(3);
+			if (this.statements != null) {
+				limits.add(this.statements + " statements");
+			}
+			if (this.rows != null) {
+				limits.add(this.rows + " rows");
+			}
+			if (this.time != null) {
+				limits.add(this.time.toMillis() + "ms");
+			}
+			return String.join(", ", limits);
+		}
+
+	}
+
+}
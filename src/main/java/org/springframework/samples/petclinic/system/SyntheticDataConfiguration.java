@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Fills the database with synthetic owners, pets, visits and vets at startup when the
+ * <code>generate</code> profile is active, e.g.
+ *
+ * <pre>
+ * ./mvnw spring-boot:run -Dspring-boot.run.profiles=generate \
+ *     -Dspring-boot.run.arguments=--petclinic.generate.owners=1000000
+ * </pre>
+ *
+ * The rows are written after the schema and data scripts ran and before the application
+ * serves requests. Against MySQL or PostgreSQL, adding
+ * <code>--spring.main.web-application-type=none</code> turns this into a one-off command
+ * that exits once the data is written.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("generate")
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+class SyntheticDataConfiguration {
+
+	@Bean
+	@DependsOnDatabaseInitialization
+	SyntheticDataGenerator syntheticDataGenerator(DataSource dataSource, SyntheticDataProperties properties) {
+		LocalDate referenceDate = properties.referenceDate();
+		return new SyntheticDataGenerator(dataSource, properties,
+				(referenceDate != null) ? referenceDate : LocalDate.now(Clock.systemDefaultZone()));
+	}
+
+}
@@ -0,0 +1,432 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.jdbc.DatabaseDriver;
+
+/**
+ * Writes a synthetic data set shaped like a real practice: most owners have one or two
+ * pets and a few have none or up to five, the number of visits per pet is geometric
+ * around {@link SyntheticDataProperties#visitsPerPet()}, dogs and cats outnumber the
+ * other pet types, and vets have up to two specialties. Last names and cities follow a
+ * Zipf distribution, so owner searches meet a few large and many small result sets.
+ * <p>
+ * New rows refer to the pet types and specialties already in the database and take
+ * explicit ids above the current maximum, so no generated keys are read back. They are
+ * sent as multi-row {@code INSERT ... VALUES} statements of
+ * {@link SyntheticDataProperties#batchSize()} rows, which all schemas under {@code db/}
+ * accept, and committed batch by batch. The sequences Hibernate allocates ids from are
+ * then moved past the new rows.
+ */
+class SyntheticDataGenerator implements InitializingBean {
+
+	private static final Log logger = LogFactory.getLog(SyntheticDataGenerator.class);
+
+	private static final int ID_ALLOCATION_SIZE = 50;
+
+	private static final String[] FIRST_NAMES = { "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+			"Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas",
+			"Sarah", "Carlos", "Maria", "Wei", "Aiko", "Noor", "Priya", "Mateo", "Lena", "Tomasz", "Olga", "Kwame",
+			"Amara", "Sven", "Ingrid" };
+
+	// Most frequent first, for the Zipf distribution
+	private static final String[] LAST_NAMES = { "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+			"Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas",
+			"Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark",
+			"Ramirez", "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen",
+			"Hill", "Flores", "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter",
+			"Roberts", "Nakamura", "Kowalski", "Okafor", "Lindqvist", "Haddad", "Schroeder", "McTavish", "Escobito",
+			"Franklin", "Coleman" };
+
+	private static final String[] STREETS = { "Main St.", "Oak Ave.", "Maple Dr.", "Cedar Ln.", "Park Ave.", "Lake St.",
+			"Hill Rd.", "Washington St.", "Liberty St.", "Commerce St.", "Cardinal Ave.", "Friendly St." };
+
+	// Most populous first, for the Zipf distribution
+	private static final String[] CITIES = { "Madison", "Sun Prairie", "Fitchburg", "Middleton", "Verona", "Stoughton",
+			"Waunakee", "Monona", "McFarland", "Oregon", "DeForest", "Windsor", "Cottage Grove", "Mount Horeb",
+			"Cross Plains", "Maple Bluff" };
+
+	private static final String[] PET_NAMES = { "Max", "Bella", "Charlie", "Luna", "Lucy", "Cooper", "Daisy", "Milo",
+			"Bailey", "Coco", "Rocky", "Rosy", "Leo", "Basil", "Jewel", "Iggy", "George", "Samantha", "Lucky",
+			"Mulligan", "Freddy", "Sly", "Pepper", "Oreo", "Ziggy", "Nala", "Simba", "Olive", "Biscuit", "Hazel" };
+
+	private static final String[] VISIT_DESCRIPTIONS = { "checkup", "vaccination", "rabies shot", "dental cleaning",
+			"spayed", "neutered", "skin allergy", "ear infection" };
+
+	private static final double[] VISIT_DESCRIPTION_WEIGHTS = cumulative(35, 20, 12, 10, 6, 6, 6, 5);
+
+	private static final Map<String, Double> PET_TYPE_WEIGHTS = Map.of("dog", 40.0, "cat", 35.0, "bird", 8.0, "hamster",
+			7.0, "lizard", 5.0, "snake", 5.0);
+
+	private static final double OTHER_PET_TYPE_WEIGHT = 5;
+
+	// Share of owners with 0, 1, 2, ... pets
+	private static final double[] PETS_PER_OWNER = cumulative(8, 52, 24, 10, 4, 2);
+
+	// Share of vets with 0, 1 or 2 specialties
+	private static final double[] SPECIALTIES_PER_VET = cumulative(40, 45, 15);
+
+	private static final double[] LAST_NAME_WEIGHTS = zipf(LAST_NAMES.length);
+
+	private static final double[] CITY_WEIGHTS = zipf(CITIES.length);
+
+	private static final int MAX_PET_AGE_DAYS = 15 * 365;
+
+	private static final int UPCOMING_VISIT_DAYS = 60;
+
+	private final DataSource dataSource;
+
+	private final SyntheticDataProperties properties;
+
+	private final LocalDate referenceDate;
+
+	SyntheticDataGenerator(DataSource dataSource, SyntheticDataProperties properties, LocalDate referenceDate) {
+		this.dataSource = dataSource;
+		this.properties = properties;
+		this.referenceDate = referenceDate;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws SQLException {
+		generate();
+	}
+
+	/**
+	 * Write the configured number of vets and owners, with the owners' pets and visits.
+	 * @return the number of rows written to each table
+	 */
+	Map<String, Long> generate() throws SQLException {
+		long start = System.nanoTime();
+		SplittableRandom random = new SplittableRandom(this.properties.seed());
+		Map<String, Long> rows = new LinkedHashMap<>();
+		try (Connection connection = this.dataSource.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				generateVets(connection, random, rows);
+				generateOwners(connection, random, rows);
+				restartSequences(connection);
+				connection.commit();
+			}
+			catch (SQLException | RuntimeException ex) {
+				connection.rollback();
+				throw ex;
+			}
+			finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		long total = rows.values().stream().mapToLong(Long::longValue).sum();
+		logger.info(String.format("Generated %s in %.1fs (%,.0f rows/s)", rows, seconds, total / seconds));
+		return rows;
+	}
+
+	private void generateVets(Connection connection, SplittableRandom random, Map<String, Long> rows)
+			throws SQLException {
+		Integer configured = this.properties.vets();
+		int count = (configured != null) ? configured : this.properties.owners() / 1000;
+		int[] specialtyIds = readIds(connection, "SELECT id FROM specialties ORDER BY id");
+		int vetId = maxId(connection, "vets");
+		try (BulkInsert vets = new BulkInsert(connection, this.properties.batchSize(), "vets", "id", "first_name",
+				"last_name");
+				BulkInsert vetSpecialties = new BulkInsert(connection, this.properties.batchSize(), "vet_specialties",
+						"vet_id", "specialty_id")) {
+			BulkInsert[] tables = { vets, vetSpecialties };
+			for (int i = 0; i < count; i++) {
+				vetId++;
+				add(connection, tables, vets, vetId, pick(random, FIRST_NAMES),
+						LAST_NAMES[sample(random, LAST_NAME_WEIGHTS)]);
+				if (specialtyIds.length > 0) {
+					int specialties = Math.min(sample(random, SPECIALTIES_PER_VET), specialtyIds.length);
+					int first = random.nextInt(specialtyIds.length);
+					for (int s = 0; s < specialties; s++) {
+						add(connection, tables, vetSpecialties, vetId, specialtyIds[(first + s) % specialtyIds.length]);
+					}
+				}
+			}
+			flush(connection, tables);
+			rows.put("vets", vets.count());
+			rows.put("vet_specialties", vetSpecialties.count());
+		}
+	}
+
+	private void generateOwners(Connection connection, SplittableRandom random, Map<String, Long> rows)
+			throws SQLException {
+		List<Integer> typeIds = new ArrayList<>();
+		List<Double> typeWeights = new ArrayList<>();
+		try (Statement statement = connection.createStatement();
+				ResultSet types = statement.executeQuery("SELECT id, name FROM types ORDER BY id")) {
+			while (types.next()) {
+				typeIds.add(types.getInt(1));
+				String name = types.getString(2);
+				Double weight = (name != null) ? PET_TYPE_WEIGHTS.get(name.toLowerCase(Locale.ROOT)) : null;
+				typeWeights.add((weight != null) ? weight : OTHER_PET_TYPE_WEIGHT);
+			}
+		}
+		if (typeIds.isEmpty()) {
+			throw new IllegalStateException("Pets cannot be generated without any pet types in the database");
+		}
+		double[] typeDistribution = cumulative(typeWeights.stream().mapToDouble(Double::doubleValue).toArray());
+		double visitsPerPet = this.properties.visitsPerPet();
+		double logVisitRatio = Math.log(visitsPerPet / (visitsPerPet + 1));
+
+		int ownerId = maxId(connection, "owners");
+		int petId = maxId(connection, "pets");
+		int visitId = maxId(connection, "visits");
+		int batchSize = this.properties.batchSize();
+		try (BulkInsert owners = new BulkInsert(connection, batchSize, "owners", "id", "first_name", "last_name",
+				"address", "city", "telephone");
+				BulkInsert pets = new BulkInsert(connection, batchSize, "pets", "id", "name", "birth_date", "type_id",
+						"owner_id");
+				BulkInsert visits = new BulkInsert(connection, batchSize, "visits", "id", "pet_id", "visit_date",
+						"description")) {
+			BulkInsert[] tables = { owners, pets, visits };
+			for (int i = 0; i < this.properties.owners(); i++) {
+				ownerId++;
+				add(connection, tables, owners, ownerId, pick(random, FIRST_NAMES),
+						LAST_NAMES[sample(random, LAST_NAME_WEIGHTS)],
+						(1 + random.nextInt(9999)) + " " + pick(random, STREETS), CITIES[sample(random, CITY_WEIGHTS)],
+						telephone(random));
+				int petCount = sample(random, PETS_PER_OWNER);
+				int firstName = random.nextInt(PET_NAMES.length);
+				for (int p = 0; p < petCount; p++) {
+					petId++;
+					LocalDate birthDate = this.referenceDate.minusDays(random.nextInt(MAX_PET_AGE_DAYS));
+					add(connection, tables, pets, petId, PET_NAMES[(firstName + p) % PET_NAMES.length], birthDate,
+							typeIds.get(sample(random, typeDistribution)), ownerId);
+					long days = ChronoUnit.DAYS.between(birthDate, this.referenceDate) + UPCOMING_VISIT_DAYS;
+					int visitCount = (int) (Math.log(1 - random.nextDouble()) / logVisitRatio);
+					for (int v = 0; v < visitCount; v++) {
+						visitId++;
+						add(connection, tables, visits, visitId, petId, birthDate.plusDays(random.nextLong(days)),
+								VISIT_DESCRIPTIONS[sample(random, VISIT_DESCRIPTION_WEIGHTS)]);
+					}
+				}
+			}
+			flush(connection, tables);
+			rows.put("owners", owners.count());
+			rows.put("pets", pets.count());
+			rows.put("visits", visits.count());
+		}
+	}
+
+	private void restartSequences(Connection connection) throws SQLException {
+		DatabaseDriver driver = DatabaseDriver.fromProductName(connection.getMetaData().getDatabaseProductName());
+		for (String table : new String[] { "vets", "owners", "pets", "visits" }) {
+			// Hibernate hands out the block of ids below each value it reads
+			int next = maxId(connection, table) + ID_ALLOCATION_SIZE + 1;
+			try (Statement statement = connection.createStatement()) {
+				if (driver == DatabaseDriver.MYSQL || driver == DatabaseDriver.MARIADB) {
+					statement.executeUpdate("UPDATE " + table + "_seq SET next_val = " + next);
+				}
+				else {
+					statement.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + next);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add a row to one of the tables, first writing all of them, parents before children,
+	 * if that table's batch is full.
+	 */
+	private static void add(Connection connection, BulkInsert[] tables, BulkInsert table, Object... row)
+			throws SQLException {
+		if (table.isFull()) {
+			flush(connection, tables);
+		}
+		table.add(row);
+	}
+
+	private static void flush(Connection connection, BulkInsert[] tables) throws SQLException {
+		for (BulkInsert table : tables) {
+			table.flush();
+		}
+		connection.commit();
+	}
+
+	private static int maxId(Connection connection, String table) throws SQLException {
+		int[] max = readIds(connection, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+		return max[0];
+	}
+
+	private static int[] readIds(Connection connection, String sql) throws SQLException {
+		List<Integer> ids = new ArrayList<>();
+		try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+			while (resultSet.next()) {
+				ids.add(resultSet.getInt(1));
+			}
+		}
+		return ids.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static String telephone(SplittableRandom random) {
+		char[] digits = { '6', '0', '8', '0', '0', '0', '0', '0', '0', '0' };
+		int number = random.nextInt(10_000_000);
+		for (int i = digits.length - 1; i >= 3; i--) {
+			digits[i] = (char) ('0' + number % 10);
+			number /= 10;
+		}
+		return new String(digits);
+	}
+
+	private static String pick(SplittableRandom random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	/**
+	 * Return the index drawn from a distribution given by its cumulative weights.
+	 */
+	private static int sample(SplittableRandom random, double[] cumulativeWeights) {
+		double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+		int index = Arrays.binarySearch(cumulativeWeights, value);
+		return (index >= 0) ? index + 1 : -index - 1;
+	}
+
+	private static double[] cumulative(double... weights) {
+		double[] cumulative = new double[weights.length];
+		double sum = 0;
+		for (int i = 0; i < weights.length; i++) {
+			sum += weights[i];
+			cumulative[i] = sum;
+		}
+		return cumulative;
+	}
+
+	private static double[] zipf(int size) {
+		double[] weights = new double[size];
+		for (int i = 0; i < size; i++) {
+			weights[i] = 1.0 / (i + 1);
+		}
+		return cumulative(weights);
+	}
+
+	/**
+	 * Rows buffered for one table. A full batch goes out as a single multi-row insert, a
+	 * partial one as a JDBC batch of single-row inserts, so that both statements can be
+	 * prepared once and reused.
+	 */
+	private static final class BulkInsert implements AutoCloseable {
+
+		private final Connection connection;
+
+		private final int batchSize;
+
+		private final String insert;
+
+		private final String row;
+
+		private final @Nullable Object[] values;
+
+		private final int columns;
+
+		private @Nullable PreparedStatement multiRow;
+
+		private @Nullable PreparedStatement singleRow;
+
+		private int size;
+
+		private long count;
+
+		BulkInsert(Connection connection, int batchSize, String table, String... columns) {
+			this.connection = connection;
+			this.batchSize = batchSize;
+			this.insert = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+			this.row = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+			this.columns = columns.length;
+			this.values = new Object[batchSize * columns.length];
+		}
+
+		boolean isFull() {
+			return this.size == this.batchSize;
+		}
+
+		void add(Object... row) {
+			System.arraycopy(row, 0, this.values, this.size * this.columns, this.columns);
+			this.size++;
+		}
+
+		void flush() throws SQLException {
+			if (this.size == this.batchSize) {
+				PreparedStatement statement = this.multiRow;
+				if (statement == null) {
+					statement = this.connection.prepareStatement(
+							this.insert + String.join(", ", Collections.nCopies(this.batchSize, this.row)));
+					this.multiRow = statement;
+				}
+				for (int i = 0; i < this.values.length; i++) {
+					statement.setObject(i + 1, this.values[i]);
+				}
+				statement.executeUpdate();
+			}
+			else if (this.size > 0) {
+				PreparedStatement statement = this.singleRow;
+				if (statement == null) {
+					statement = this.connection.prepareStatement(this.insert + this.row);
+					this.singleRow = statement;
+				}
+				for (int row = 0; row < this.size; row++) {
+					for (int column = 0; column < this.columns; column++) {
+						statement.setObject(column + 1, this.values[row * this.columns + column]);
+					}
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+			this.count += this.size;
+			this.size = 0;
+		}
+
+		long count() {
+			return this.count;
+		}
+
+		@Override
+		public void close() throws SQLException {
+			if (this.multiRow != null) {
+				this.multiRow.close();
+			}
+			if (this.singleRow != null) {
+				this.singleRow.close();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.LocalDate;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the {@link SyntheticDataGenerator}, bound from
+ * <code>petclinic.generate.*</code>.
+ *
+ * @param owners the number of owners to add
+ * @param vets the number of vets to add, one per thousand owners when not set
+ * @param visitsPerPet the mean number of visits per pet
+ * @param seed the seed of the random generator; the same seed, reference date and
+ * starting database produce the same rows
+ * @param referenceDate the date the data is generated around, today when not set; birth
+ * dates and most visits lie before it, a few visits up to two months after it
+ * @param batchSize the number of rows written by a single insert statement
+ */
+@ConfigurationProperties("petclinic.generate")
+record SyntheticDataProperties(@DefaultValue("100000") int owners, @Nullable Integer vets,
+		@DefaultValue("4") double visitsPerPet, @DefaultValue("42") long seed, @Nullable LocalDate referenceDate,
+		@DefaultValue("1000") int batchSize) {
+
+}
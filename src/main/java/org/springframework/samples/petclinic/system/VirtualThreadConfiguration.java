@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Extra setup for running requests on virtual threads, active when
+ * <code>spring.threads.virtual.enabled=true</code> on Java 21 or later. Spring Boot
+ * already moves Tomcat's request handling and the application task executor onto virtual
+ * threads in that mode; this adds two things it does not do.
+ * <ul>
+ * <li>The Hikari data source is wrapped in a {@link ConcurrencyLimitingDataSource} sized
+ * to the pool, so requests that need a connection queue in memory instead of piling onto
+ * the pool. The <code>jdbc.connections.waiting</code> gauge shows how many are
+ * queued.</li>
+ * <li>A {@link VirtualThreadPinningMonitor} reports virtual threads pinned to their
+ * carrier for longer than <code>petclinic.threads.pinned-threshold</code>.</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+class VirtualThreadConfiguration {
+
+	@Bean
+	static ConcurrencyLimitingDataSourcePostProcessor concurrencyLimitingDataSourcePostProcessor(
+			ObjectProvider<MeterRegistry> registry) {
+		return new ConcurrencyLimitingDataSourcePostProcessor(registry);
+	}
+
+	@Bean
+	VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry registry,
+			@Value("${petclinic.threads.pinned-threshold:20ms}") Duration threshold) {
+		return new VirtualThreadPinningMonitor(registry, threshold);
+	}
+
+	/**
+	 * Wraps the Hikari data source; ordered so that it sees the pool itself before other
+	 * post-processors, such as the one of {@link SqlStatisticsConfiguration}, wrap it.
+	 */
+	static final class ConcurrencyLimitingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+		private final ObjectProvider<MeterRegistry> registry;
+
+		ConcurrencyLimitingDataSourcePostProcessor(ObjectProvider<MeterRegistry> registry) {
+			this.registry = registry;
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (!(bean instanceof HikariDataSource hikari)) {
+				return bean;
+			}
+			ConcurrencyLimitingDataSource limited = new ConcurrencyLimitingDataSource(hikari,
+					hikari.getMaximumPoolSize(), Duration.ofMillis(hikari.getConnectionTimeout()));
+			this.registry.ifAvailable((meters) -> Gauge
+				.builder("jdbc.connections.waiting", limited, ConcurrencyLimitingDataSource::getQueueLength)
+				.tag("name", beanName)
+				.description("Threads waiting for a connection permit")
+				.register(meters));
+			return limited;
+		}
+
+	}
+
+}
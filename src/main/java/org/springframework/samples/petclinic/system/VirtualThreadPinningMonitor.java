@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, which blocks the
+ * carrier for everyone else. Listens to the JFR <code>jdk.VirtualThreadPinned</code>
+ * event in-process, counts each occurrence in the <code>jvm.threads.virtual.pinned</code>
+ * meter tagged with the layer that pinned (<code>jdbc</code>, <code>hibernate</code> or
+ * <code>other</code>), and logs the stack trace the first time each call site pins.
+ */
+class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+	static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+	private static final Log logger = LogFactory.getLog(VirtualThreadPinningMonitor.class);
+
+	private static final List<String> JDBC_PACKAGES = List.of("java.sql.", "javax.sql.", "com.zaxxer.hikari.",
+			"org.h2.", "com.mysql.", "org.postgresql.", "org.springframework.jdbc.");
+
+	private static final String HIBERNATE_PACKAGE = "org.hibernate.";
+
+	private final MeterRegistry registry;
+
+	private final Duration threshold;
+
+	private final Set<String> reportedCallSites = ConcurrentHashMap.newKeySet();
+
+	private @Nullable RecordingStream stream;
+
+	VirtualThreadPinningMonitor(MeterRegistry registry, Duration threshold) {
+		this.registry = registry;
+		this.threshold = threshold;
+	}
+
+	@Override
+	public synchronized void start() {
+		RecordingStream stream = new RecordingStream();
+		stream.enable(EVENT_NAME).withThreshold(this.threshold).withStackTrace();
+		stream.onEvent(EVENT_NAME, this::onPinned);
+		stream.startAsync();
+		this.stream = stream;
+	}
+
+	@Override
+	public synchronized void stop() {
+		if (this.stream != null) {
+			this.stream.close();
+			this.stream = null;
+		}
+	}
+
+	@Override
+	public synchronized boolean isRunning() {
+		return this.stream != null;
+	}
+
+	private void onPinned(RecordedEvent event) {
+		RecordedStackTrace stackTrace = event.getStackTrace();
+		List<String> frames = (stackTrace != null)
+				? stackTrace.getFrames().stream().map(VirtualThreadPinningMonitor::describe).toList() : List.of();
+		String source = classify(frames);
+		Counter.builder("jvm.threads.virtual.pinned")
+			.tag("source", source)
+			.description("Virtual threads that blocked while pinned to their carrier thread")
+			.register(this.registry)
+			.increment();
+		String callSite = frames.stream().filter((frame) -> !frame.startsWith("java.")).findFirst().orElse("unknown");
+		if (this.reportedCallSites.add(callSite) && logger.isWarnEnabled()) {
+			logger.warn("Virtual thread pinned in " + source + " code for " + event.getDuration().toMillis() + "ms at "
+					+ callSite + "\n\tat " + String.join("\n\tat ", frames));
+		}
+	}
+
+	/**
+	 * Return the layer responsible for a pinned stack: the layer of the innermost JDBC or
+	 * Hibernate frame, or {@code other} when neither is on the stack.
+	 * @param frames the stack frames as {@code class.method} strings, innermost first
+	 */
+	static String classify(List<String> frames) {
+		for (String frame : frames) {
+			if (JDBC_PACKAGES.stream().anyMatch(frame::startsWith)) {
+				return "jdbc";
+			}
+			if (frame.startsWith(HIBERNATE_PACKAGE)) {
+				return "hibernate";
+			}
+		}
+		return "other";
+	}
+
+	private static String describe(RecordedFrame frame) {
+		return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+	}
+
+}
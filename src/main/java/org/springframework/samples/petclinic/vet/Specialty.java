@@ -15,7 +15,14 @@
  */
 package org.springframework.samples.petclinic.vet;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.DomainEvents;
 import org.springframework.samples.petclinic.model.NamedEntity;
+import org.springframework.samples.petclinic.model.ReferenceDataChangedEvent;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -27,6 +34,17 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "specialties")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "specialties")
 public class Specialty extends NamedEntity {
 
+	/**
+	 * Tell the {@link SpecialtyRegistry} to reload whenever a specialty is saved or
+	 * deleted.
+	 * @return the events to publish after a repository save or delete
+	 */
+	@DomainEvents
+	Collection<ReferenceDataChangedEvent> domainEvents() {
+		return List.of(new ReferenceDataChangedEvent(Specialty.class));
+	}
+
 }
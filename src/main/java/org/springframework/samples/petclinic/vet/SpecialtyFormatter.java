@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.text.ParseException;
+import java.util.Locale;
+
+import org.springframework.format.Formatter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parses and prints {@link Specialty specialties} by name, resolving them from the
+ * {@link SpecialtyRegistry} rather than the database.
+ */
+@Component
+public class SpecialtyFormatter implements Formatter<Specialty> {
+
+	private final SpecialtyRegistry specialties;
+
+	public SpecialtyFormatter(SpecialtyRegistry specialties) {
+		this.specialties = specialties;
+	}
+
+	@Override
+	public String print(Specialty specialty, Locale locale) {
+		String name = specialty.getName();
+		return (name != null) ? name : "<null>";
+	}
+
+	@Override
+	public Specialty parse(String text, Locale locale) throws ParseException {
+		Specialty specialty = this.specialties.findByName(text);
+		if (specialty == null) {
+			throw new ParseException("specialty not found: " + text, 0);
+		}
+		return specialty;
+	}
+
+}
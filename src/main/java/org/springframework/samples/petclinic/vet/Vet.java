@@ -23,6 +23,8 @@ import java.util.stream.Collectors;
 
 import org.springframework.samples.petclinic.model.NamedEntity;
 import org.springframework.samples.petclinic.model.Person;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -43,11 +45,13 @@ import org.jspecify.annotations.Nullable;
  */
 @Entity
 @Table(name = "vets")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vets")
 public class Vet extends Person {
 
 	@ManyToMany(fetch = FetchType.EAGER)
 	@JoinTable(name = "vet_specialties", joinColumns = @JoinColumn(name = "vet_id"),
 			inverseJoinColumns = @JoinColumn(name = "specialty_id"))
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vet-specialties")
 	private @Nullable Set<Specialty> specialties;
 
 	protected Set<Specialty> getSpecialtiesInternal() {
@@ -16,10 +16,17 @@
 package org.springframework.samples.petclinic.vet;
 
 import java.util.List;
+import java.util.Map;
 
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.samples.petclinic.model.PaginationMode;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -35,14 +42,25 @@ import org.springframework.web.bind.annotation.ResponseBody;
 @Controller
 class VetController {
 
+	private static final int PAGE_SIZE = 5;
+
 	private final VetRepository vetRepository;
 
-	public VetController(VetRepository vetRepository) {
+	private final PaginationMode pagination;
+
+	public VetController(VetRepository vetRepository,
+			@Value("${petclinic.vets.pagination:page}") PaginationMode pagination) {
 		this.vetRepository = vetRepository;
+		this.pagination = pagination;
 	}
 
 	@GetMapping("/vets.html")
-	public String showVetList(@RequestParam(defaultValue = "1") int page, Model model) {
+	public String showVetList(@RequestParam(defaultValue = "1") int page,
+			@RequestParam(required = false) @Nullable String afterName,
+			@RequestParam(required = false) @Nullable Integer afterId, Model model) {
+		if (this.pagination == PaginationMode.KEYSET) {
+			return showVetListByKeyset(afterName, afterId, model);
+		}
 		// Here we are returning an object of type 'Vets' rather than a collection of Vet
 		// objects so it is simpler for Object-Xml mapping
 		Vets vets = new Vets();
@@ -61,11 +79,33 @@ class VetController {
 	}
 
 	private Page<Vet> findPaginated(int page) {
-		int pageSize = 5;
-		Pageable pageable = PageRequest.of(page - 1, pageSize);
+		Pageable pageable = PageRequest.of(page - 1, PAGE_SIZE);
 		return vetRepository.findAll(pageable);
 	}
 
+	/**
+	 * Keyset variant of the vet list: shows the vets following the one identified by
+	 * {@code afterName} and {@code afterId}, and links to the next window instead of
+	 * numbered pages.
+	 */
+	private String showVetListByKeyset(@Nullable String afterName, @Nullable Integer afterId, Model model) {
+		ScrollPosition position = ScrollPosition.keyset();
+		if (afterName != null && afterId != null) {
+			position = ScrollPosition.forward(Map.of("lastName", afterName, "id", afterId));
+		}
+		Window<Vet> window = this.vetRepository.findAllByOrderByLastNameAscIdAsc(position, Limit.of(PAGE_SIZE));
+		List<Vet> listVets = window.getContent();
+		model.addAttribute("keyset", true);
+		model.addAttribute("firstWindow", afterName == null || afterId == null);
+		model.addAttribute("listVets", listVets);
+		if (window.hasNext()) {
+			Vet last = listVets.get(listVets.size() - 1);
+			model.addAttribute("nextAfterName", last.getLastName());
+			model.addAttribute("nextAfterId", last.getId());
+		}
+		return "vets/vetList";
+	}
+
 	@GetMapping({ "/vets" })
 	public @ResponseBody Vets showResourcesVetList() {
 		// Here we are returning an object of type 'Vets' rather than a collection of Vet
@@ -17,8 +17,11 @@ package org.springframework.samples.petclinic.vet;
 
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.repository.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,13 +49,27 @@ public interface VetRepository extends Repository<Vet, Integer> {
 	Collection<Vet> findAll() throws DataAccessException;
 
 	/**
-	 * Retrieve all <code>Vet</code>s from data store in Pages
+	 * Retrieve all <code>Vet</code>s from data store in Pages. Each page is cached under
+	 * its own key in the <code>vetPages</code> cache, whose limits are set in
+	 * <code>application.properties</code>.
 	 * @param pageable
 	 * @return
 	 * @throws DataAccessException
 	 */
 	@Transactional(readOnly = true)
-	@Cacheable("vets")
+	@Cacheable("vetPages")
 	Page<Vet> findAll(Pageable pageable) throws DataAccessException;
 
+	/**
+	 * Retrieve <code>Vet</code>s ordered by last name and id, continuing after the given
+	 * keyset position so that the <code>vets_last_name</code> index can seek to it.
+	 * @param position the last name and id of the last vet already shown, or an initial
+	 * position to start from the beginning
+	 * @param limit the maximum number of vets to return
+	 * @return a <code>Window</code> of <code>Vet</code>s
+	 * @throws DataAccessException
+	 */
+	@Transactional(readOnly = true)
+	Window<Vet> findAllByOrderByLastNameAscIdAsc(ScrollPosition position, Limit limit) throws DataAccessException;
+
 }
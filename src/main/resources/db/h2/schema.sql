@@ -5,6 +5,12 @@ DROP TABLE visits IF EXISTS;
 DROP TABLE pets IF EXISTS;
 DROP TABLE types IF EXISTS;
 DROP TABLE owners IF EXISTS;
+DROP SEQUENCE IF EXISTS vets_seq;
+DROP SEQUENCE IF EXISTS specialties_seq;
+DROP SEQUENCE IF EXISTS types_seq;
+DROP SEQUENCE IF EXISTS owners_seq;
+DROP SEQUENCE IF EXISTS pets_seq;
+DROP SEQUENCE IF EXISTS visits_seq;
 
 
 CREATE TABLE vets (
@@ -62,3 +68,12 @@ CREATE TABLE visits (
 );
 ALTER TABLE visits ADD CONSTRAINT fk_visits_pets FOREIGN KEY (pet_id) REFERENCES pets (id);
 CREATE INDEX visits_pet_id ON visits (pet_id);
+
+-- Hibernate allocates ids from these pooled sequences in blocks of 50; they start above
+-- the ids of the sample data, which is inserted through the identity columns.
+CREATE SEQUENCE vets_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE specialties_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE types_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE owners_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE pets_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE visits_seq START WITH 100 INCREMENT BY 50;
@@ -53,3 +53,52 @@ CREATE TABLE IF NOT EXISTS visits (
   description VARCHAR(255),
   FOREIGN KEY (pet_id) REFERENCES pets(id)
 ) engine=InnoDB;
+
+-- MySQL has no sequences, so Hibernate emulates each pooled sequence with a single row
+-- table. They start above the ids of the sample data, which is inserted through the
+-- auto increment columns. Reading next_val n hands out the ids n - 49 to n.
+CREATE TABLE IF NOT EXISTS vets_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO vets_seq (next_val) SELECT 100 FROM DUAL WHERE NOT EXISTS (SELECT * FROM vets_seq);
+
+CREATE TABLE IF NOT EXISTS specialties_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO specialties_seq (next_val) SELECT 100 FROM DUAL WHERE NOT EXISTS (SELECT * FROM specialties_seq);
+
+CREATE TABLE IF NOT EXISTS types_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO types_seq (next_val) SELECT 100 FROM DUAL WHERE NOT EXISTS (SELECT * FROM types_seq);
+
+CREATE TABLE IF NOT EXISTS owners_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO owners_seq (next_val) SELECT 100 FROM DUAL WHERE NOT EXISTS (SELECT * FROM owners_seq);
+
+CREATE TABLE IF NOT EXISTS pets_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO pets_seq (next_val) SELECT 100 FROM DUAL WHERE NOT EXISTS (SELECT * FROM pets_seq);
+
+CREATE TABLE IF NOT EXISTS visits_seq (
+  next_val BIGINT
+) engine=InnoDB;
+INSERT INTO visits_seq (next_val) SELECT 100 FROM DUAL WHERE NOT EXISTS (SELECT * FROM visits_seq);
+
+-- A database created before the sequence tables existed may already hold higher ids, so
+-- each one is moved past the highest id of its table. Sequences that are already ahead
+-- are left alone, which keeps this safe to run on every startup.
+UPDATE vets_seq SET next_val = (SELECT MAX(id) + 50 FROM vets)
+  WHERE next_val < (SELECT MAX(id) + 50 FROM vets);
+UPDATE specialties_seq SET next_val = (SELECT MAX(id) + 50 FROM specialties)
+  WHERE next_val < (SELECT MAX(id) + 50 FROM specialties);
+UPDATE types_seq SET next_val = (SELECT MAX(id) + 50 FROM types)
+  WHERE next_val < (SELECT MAX(id) + 50 FROM types);
+UPDATE owners_seq SET next_val = (SELECT MAX(id) + 50 FROM owners)
+  WHERE next_val < (SELECT MAX(id) + 50 FROM owners);
+UPDATE pets_seq SET next_val = (SELECT MAX(id) + 50 FROM pets)
+  WHERE next_val < (SELECT MAX(id) + 50 FROM pets);
+UPDATE visits_seq SET next_val = (SELECT MAX(id) + 50 FROM visits)
+  WHERE next_val < (SELECT MAX(id) + 50 FROM visits);
@@ -50,3 +50,29 @@ CREATE TABLE IF NOT EXISTS visits (
   description TEXT
 );
 CREATE INDEX ON visits (pet_id);
+
+-- Hibernate allocates ids from these pooled sequences in blocks of 50; they start above
+-- the ids of the sample data, which is inserted through the identity columns. A call
+-- returning n hands out n - 49 to n.
+CREATE SEQUENCE IF NOT EXISTS vets_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS specialties_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS types_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS owners_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS pets_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS visits_seq START WITH 100 INCREMENT BY 50;
+
+-- A database created before the sequences existed may already hold higher ids, so each
+-- sequence is moved past the highest id of its table. Sequences that are already ahead
+-- are left alone, which keeps this safe to run on every startup.
+SELECT setval('vets_seq', m.id + 50, false) FROM (SELECT MAX(id) AS id FROM vets) m, vets_seq s
+  WHERE m.id + 50 > s.last_value + CASE WHEN s.is_called THEN 50 ELSE 0 END;
+SELECT setval('specialties_seq', m.id + 50, false) FROM (SELECT MAX(id) AS id FROM specialties) m, specialties_seq s
+  WHERE m.id + 50 > s.last_value + CASE WHEN s.is_called THEN 50 ELSE 0 END;
+SELECT setval('types_seq', m.id + 50, false) FROM (SELECT MAX(id) AS id FROM types) m, types_seq s
+  WHERE m.id + 50 > s.last_value + CASE WHEN s.is_called THEN 50 ELSE 0 END;
+SELECT setval('owners_seq', m.id + 50, false) FROM (SELECT MAX(id) AS id FROM owners) m, owners_seq s
+  WHERE m.id + 50 > s.last_value + CASE WHEN s.is_called THEN 50 ELSE 0 END;
+SELECT setval('pets_seq', m.id + 50, false) FROM (SELECT MAX(id) AS id FROM pets) m, pets_seq s
+  WHERE m.id + 50 > s.last_value + CASE WHEN s.is_called THEN 50 ELSE 0 END;
+SELECT setval('visits_seq', m.id + 50, false) FROM (SELECT MAX(id) AS id FROM visits) m, visits_seq s
+  WHERE m.id + 50 > s.last_value + CASE WHEN s.is_called THEN 50 ELSE 0 END;
@@ -18,13 +18,22 @@ package org.springframework.samples.petclinic;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.restclient.RestTemplateBuilder;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.web.server.test.LocalServerPort;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
@@ -43,6 +52,9 @@ public class PetClinicIntegrationTests {
 	@Autowired
 	private RestTemplateBuilder builder;
 
+	@Autowired
+	private MeterRegistry registry;
+
 	@Test
 	void testFindAll() {
 		vets.findAll();
@@ -54,6 +66,50 @@ public class PetClinicIntegrationTests {
 		RestTemplate template = builder.rootUri("http://localhost:" + port).build();
 		ResponseEntity<String> result = template.exchange(RequestEntity.get("/owners/1").build(), String.class);
 		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+		// the phases are measured, but not reported to the client by default
+		assertThat(result.getHeaders().containsHeader("Server-Timing")).isFalse();
+		assertThat(registry.get("petclinic.request.phase")
+			.tags("handler", "OwnerController.showOwner", "phase", "view")
+			.timer()
+			.count()).isPositive();
+	}
+
+	@Test
+	void testSloEndpoint() {
+		RestTemplate template = builder.rootUri("http://localhost:" + port).build();
+		template.getForEntity("/vets.html", String.class);
+		assertThat(
+				registry.get("http.server.requests").tag("uri", "/vets.html").timer().takeSnapshot().percentileValues())
+			.isNotEmpty();
+		ResponseEntity<String> result = template.getForEntity("/actuator/slo", String.class);
+		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(result.getBody()).contains("\"breaching\"");
+	}
+
+	@Test
+	void testSlowQueryEndpoint() {
+		RestTemplate template = builder.rootUri("http://localhost:" + port).build();
+		template.getForEntity("/owners?lastName=Davis", String.class);
+		ResponseEntity<String> result = template.getForEntity("/actuator/slowqueries?top=100", String.class);
+		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(result.getBody()).contains("\"fingerprint\"").contains("from owners");
+	}
+
+	@Test
+	void testRepositoryEvents(@TempDir Path directory) throws Exception {
+		try (Recording recording = new Recording()) {
+			recording.enable("org.springframework.samples.petclinic.Repository").withThreshold(Duration.ZERO);
+			recording.start();
+			vets.findAllByOrderByLastNameAscIdAsc(ScrollPosition.keyset(), Limit.of(4));
+			recording.stop();
+			Path file = directory.resolve("recording.jfr");
+			recording.dump(file);
+			assertThat(RecordingFile.readAllEvents(file)).anySatisfy((event) -> {
+				assertThat(event.getString("repository")).isEqualTo("VetRepository");
+				assertThat(event.getString("method")).isEqualTo("findAllByOrderByLastNameAscIdAsc");
+				assertThat(event.getLong("rows")).isEqualTo(4);
+			});
+		}
 	}
 
 	public static void main(String[] args) {
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Latencies and errors of each {@link Workflow}, recorded by one client and merged across
+ * clients once the run is over. Percentiles are computed exactly from all recorded
+ * latencies.
+ */
+final class LoadReport {
+
+	private final Map<Workflow, Samples> samples = new EnumMap<>(Workflow.class);
+
+	void record(Workflow workflow, long nanos, boolean success) {
+		this.samples.computeIfAbsent(workflow, (key) -> new Samples()).add(nanos, success);
+	}
+
+	static LoadReport merge(List<LoadReport> reports) {
+		LoadReport merged = new LoadReport();
+		for (LoadReport report : reports) {
+			report.samples.forEach((workflow,
+					samples) -> merged.samples.computeIfAbsent(workflow, (key) -> new Samples()).addAll(samples));
+		}
+		return merged;
+	}
+
+	long requests() {
+		return this.samples.values().stream().mapToLong((samples) -> samples.count).sum();
+	}
+
+	long errors() {
+		return this.samples.values().stream().mapToLong((samples) -> samples.errors).sum();
+	}
+
+	/**
+	 * Format the report as a table with one row per workflow.
+	 */
+	String toTable(Duration elapsed) {
+		StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-12s %9s %7s %9s %9s %9s %9s%n",
+				"workflow", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms"));
+		this.samples.forEach((workflow,
+				samples) -> table.append(String.format(Locale.ROOT, "%-12s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", workflow,
+						samples.count, samples.errors, samples.count / seconds(elapsed), samples.percentile(0.5),
+						samples.percentile(0.99), samples.percentile(0.999))));
+		return table.toString();
+	}
+
+	/**
+	 * Write the report as JSON, for comparing runs of different builds.
+	 */
+	void writeJson(Path file, Duration elapsed, int concurrency, SyntheticDataset data) throws IOException {
+		String workflows = this.samples.entrySet()
+			.stream()
+			.map((entry) -> String.format(Locale.ROOT,
+					"{\"workflow\":\"%s\",\"requests\":%d,\"errors\":%d,\"throughput\":%.2f,"
+							+ "\"p50Ms\":%.3f,\"p99Ms\":%.3f,\"p999Ms\":%.3f}",
+					entry.getKey(), entry.getValue().count, entry.getValue().errors,
+					entry.getValue().count / seconds(elapsed), entry.getValue().percentile(0.5),
+					entry.getValue().percentile(0.99), entry.getValue().percentile(0.999)))
+			.collect(Collectors.joining(",\n    "));
+		String json = String.format(Locale.ROOT,
+				"{%n  \"concurrency\": %d,%n  \"seconds\": %.1f,%n  \"owners\": %d,%n  \"pets\": %d,%n"
+						+ "  \"workflows\": [%n    %s%n  ]%n}%n",
+				concurrency, seconds(elapsed), data.owners(), data.pets(), workflows);
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		Files.writeString(file, json);
+	}
+
+	private static double seconds(Duration elapsed) {
+		return elapsed.toNanos() / 1e9;
+	}
+
+	private static final class Samples {
+
+		private long[] nanos = new long[1024];
+
+		private int count;
+
+		private int errors;
+
+		private boolean sorted;
+
+		void add(long latency, boolean success) {
+			if (this.count == this.nanos.length) {
+				this.nanos = Arrays.copyOf(this.nanos, this.count * 2);
+			}
+			this.nanos[this.count++] = latency;
+			if (!success) {
+				this.errors++;
+			}
+			this.sorted = false;
+		}
+
+		void addAll(Samples other) {
+			for (int i = 0; i < other.count; i++) {
+				add(other.nanos[i], true);
+			}
+			this.errors += other.errors;
+		}
+
+		double percentile(double percentile) {
+			if (this.count == 0) {
+				return 0;
+			}
+			if (!this.sorted) {
+				Arrays.sort(this.nanos, 0, this.count);
+				this.sorted = true;
+			}
+			int index = (int) Math.ceil(percentile * this.count) - 1;
+			return this.nanos[Math.max(index, 0)] / 1e6;
+		}
+
+	}
+
+}
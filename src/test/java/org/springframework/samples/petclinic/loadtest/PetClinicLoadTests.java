@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.test.LocalServerPort;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Load test that boots the application on a random port against an in-memory H2 database
+ * filled with synthetic owners, pets and visits by the <code>generate</code> profile, and
+ * replays a mix of the {@link Workflow}s from virtual-thread clients. It prints the
+ * throughput and the p50, p99 and p999 latency of each workflow and writes them to
+ * <code>target/loadtest-result.json</code>, so that two builds can be compared before
+ * deploying.
+ * <p>
+ * The test only runs when asked for, with every setting optional:
+ * </p>
+ * <pre class="code">
+ * ./mvnw test -Dtest=PetClinicLoadTests -Dloadtest.enabled=true -Dloadtest.owners=10000 \
+ *     -Dloadtest.concurrency=32 -Dloadtest.warmup=10s -Dloadtest.duration=30s -Dloadtest.seed=42
+ * </pre>
+ */
+@SpringBootTest(classes = PetClinicApplication.class, webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = { "petclinic.generate.owners=${loadtest.owners:10000}",
+				"petclinic.generate.seed=${loadtest.seed:42}" })
+@ActiveProfiles("generate")
+@EnabledIfSystemProperty(named = "loadtest.enabled", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@DisabledInNativeImage
+class PetClinicLoadTests {
+
+	private static final Log logger = LogFactory.getLog(PetClinicLoadTests.class);
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Value("${loadtest.concurrency:32}")
+	private int concurrency;
+
+	@Value("${loadtest.warmup:10s}")
+	private Duration warmup;
+
+	@Value("${loadtest.duration:30s}")
+	private Duration duration;
+
+	@Value("${loadtest.seed:42}")
+	private long seed;
+
+	private final HttpClient client = HttpClient.newBuilder()
+		.version(HttpClient.Version.HTTP_1_1)
+		.followRedirects(HttpClient.Redirect.NEVER)
+		.connectTimeout(Duration.ofSeconds(5))
+		.build();
+
+	@Test
+	void replayWorkflowMix() throws Exception {
+		SyntheticDataset data = SyntheticDataset.load(this.jdbc);
+		URI base = URI.create("http://localhost:" + this.port);
+		logger
+			.info("Warming up for " + this.warmup + " with " + data.owners() + " owners and " + data.pets() + " pets");
+		run(base, data, this.warmup, this.seed);
+
+		long start = System.nanoTime();
+		LoadReport report = run(base, data, this.duration, this.seed + this.concurrency);
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+		logger.info(this.concurrency + " clients for " + this.duration + ":\n" + report.toTable(elapsed));
+		report.writeJson(Path.of("target", "loadtest-result.json"), elapsed, this.concurrency, data);
+
+		assertThat(report.requests()).isPositive();
+		assertThat(report.errors()).isZero();
+	}
+
+	private LoadReport run(URI base, SyntheticDataset data, Duration duration, long seed) throws InterruptedException {
+		long deadline = System.nanoTime() + duration.toNanos();
+		List<LoadReport> reports = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch finished = new CountDownLatch(this.concurrency);
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("loadtest-");
+		for (int i = 0; i < this.concurrency; i++) {
+			SplittableRandom random = new SplittableRandom(seed + i);
+			executor.execute(() -> {
+				LoadReport report = new LoadReport();
+				try {
+					while (System.nanoTime() < deadline) {
+						Workflow workflow = Workflow.pick(random);
+						long started = System.nanoTime();
+						boolean success = send(workflow, base, data, random);
+						report.record(workflow, System.nanoTime() - started, success);
+					}
+				}
+				finally {
+					reports.add(report);
+					finished.countDown();
+				}
+			});
+		}
+		finished.await();
+		return LoadReport.merge(reports);
+	}
+
+	private boolean send(Workflow workflow, URI base, SyntheticDataset data, SplittableRandom random) {
+		try {
+			HttpResponse<Void> response = this.client.send(workflow.request(base, data, random),
+					HttpResponse.BodyHandlers.discarding());
+			return response.statusCode() < 400;
+		}
+		catch (IOException ex) {
+			return false;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The keys of the owners, pets and pet types in the database, which the workflows of a
+ * load test pick from.
+ */
+final class SyntheticDataset {
+
+	private final int[] ownerIds;
+
+	private final int[][] pets;
+
+	private final List<String> lastNames;
+
+	private final List<String> petTypes;
+
+	private SyntheticDataset(int[] ownerIds, int[][] pets, List<String> lastNames, List<String> petTypes) {
+		this.ownerIds = ownerIds;
+		this.pets = pets;
+		this.lastNames = lastNames;
+		this.petTypes = petTypes;
+	}
+
+	/**
+	 * Read the keys of all owners and pets in the database.
+	 */
+	static SyntheticDataset load(JdbcTemplate jdbc) {
+		int[] ownerIds = jdbc.queryForList("SELECT id FROM owners ORDER BY id", Integer.class)
+			.stream()
+			.mapToInt(Integer::intValue)
+			.toArray();
+		int[][] pets = jdbc
+			.query("SELECT owner_id, id FROM pets ORDER BY id", (rs, row) -> new int[] { rs.getInt(1), rs.getInt(2) })
+			.toArray(int[][]::new);
+		List<String> lastNames = jdbc.queryForList("SELECT DISTINCT last_name FROM owners ORDER BY last_name",
+				String.class);
+		List<String> petTypes = jdbc.queryForList("SELECT name FROM types ORDER BY id", String.class);
+		return new SyntheticDataset(ownerIds, pets, lastNames, petTypes);
+	}
+
+	int owners() {
+		return this.ownerIds.length;
+	}
+
+	int pets() {
+		return this.pets.length;
+	}
+
+	int randomOwnerId(SplittableRandom random) {
+		return this.ownerIds[random.nextInt(this.ownerIds.length)];
+	}
+
+	/**
+	 * Return a random pet as a pair of owner id and pet id.
+	 */
+	int[] randomPet(SplittableRandom random) {
+		return this.pets[random.nextInt(this.pets.length)];
+	}
+
+	String randomLastNamePrefix(SplittableRandom random) {
+		String lastName = this.lastNames.get(random.nextInt(this.lastNames.size()));
+		return lastName.substring(0, 1 + random.nextInt(lastName.length()));
+	}
+
+	String randomPetType(SplittableRandom random) {
+		return this.petTypes.get(random.nextInt(this.petTypes.size()));
+	}
+
+}
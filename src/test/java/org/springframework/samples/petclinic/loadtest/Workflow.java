@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * The user workflows replayed by the load test, each with its share of the traffic.
+ */
+enum Workflow {
+
+	FIND_OWNER(30) {
+		@Override
+		HttpRequest request(URI base, SyntheticDataset data, SplittableRandom random) {
+			String lastName = URLEncoder.encode(data.randomLastNamePrefix(random), StandardCharsets.UTF_8);
+			return HttpRequest.newBuilder(base.resolve("/owners?lastName=" + lastName)).GET().build();
+		}
+	},
+
+	VIEW_OWNER(35) {
+		@Override
+		HttpRequest request(URI base, SyntheticDataset data, SplittableRandom random) {
+			return HttpRequest.newBuilder(base.resolve("/owners/" + data.randomOwnerId(random))).GET().build();
+		}
+	},
+
+	ADD_PET(10) {
+		@Override
+		HttpRequest request(URI base, SyntheticDataset data, SplittableRandom random) {
+			return form(base.resolve("/owners/" + data.randomOwnerId(random) + "/pets/new"),
+					Map.of("name", "Load " + PET_NUMBERS.incrementAndGet(), "birthDate",
+							LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1500)).toString(), "type",
+							data.randomPetType(random)));
+		}
+	},
+
+	BOOK_VISIT(10) {
+		@Override
+		HttpRequest request(URI base, SyntheticDataset data, SplittableRandom random) {
+			int[] pet = data.randomPet(random);
+			return form(base.resolve("/owners/" + pet[0] + "/pets/" + pet[1] + "/visits/new"),
+					Map.of("date", LocalDate.now().plusDays(random.nextInt(60)).toString(), "description", "checkup"));
+		}
+	},
+
+	LIST_VETS(15) {
+		@Override
+		HttpRequest request(URI base, SyntheticDataset data, SplittableRandom random) {
+			return HttpRequest.newBuilder(base.resolve("/vets.html")).GET().build();
+		}
+	};
+
+	private static final AtomicLong PET_NUMBERS = new AtomicLong();
+
+	private static final int TOTAL_WEIGHT = 100;
+
+	private final int weight;
+
+	Workflow(int weight) {
+		this.weight = weight;
+	}
+
+	/**
+	 * Build the request for one run of this workflow.
+	 */
+	abstract HttpRequest request(URI base, SyntheticDataset data, SplittableRandom random);
+
+	/**
+	 * Pick a workflow with the probability of its share of the traffic.
+	 */
+	static Workflow pick(SplittableRandom random) {
+		int ticket = random.nextInt(TOTAL_WEIGHT);
+		for (Workflow workflow : values()) {
+			ticket -= workflow.weight;
+			if (ticket < 0) {
+				return workflow;
+			}
+		}
+		throw new IllegalStateException("Workflow weights do not add up to " + TOTAL_WEIGHT);
+	}
+
+	private static HttpRequest form(URI uri, Map<String, String> fields) {
+		String body = fields.entrySet()
+			.stream()
+			.map((field) -> field.getKey() + "=" + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8))
+			.collect(Collectors.joining("&"));
+		return HttpRequest.newBuilder(uri)
+			.header("Content-Type", "application/x-www-form-urlencoded")
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build();
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/**
+ * Measures the round trips needed to create owners with pets and visits. With pooled
+ * sequence ids and JDBC batching the inserts of each table are sent together instead of
+ * one statement per row.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OwnerBatchInsertTests {
+
+	private static final int OWNERS = 20;
+
+	private static final int PETS_PER_OWNER = 2;
+
+	private static final int VISITS_PER_PET = 2;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private PetTypeRepository types;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void shouldBatchInsertsOfOwnersPetsAndVisits() {
+		PetType type = this.types.findPetTypes().get(0);
+		List<Owner> batch = new ArrayList<>();
+		for (int i = 0; i < OWNERS; i++) {
+			batch.add(owner(i, type));
+		}
+		Statistics statistics = this.entityManager.getEntityManager()
+			.getEntityManagerFactory()
+			.unwrap(SessionFactory.class)
+			.getStatistics();
+		statistics.clear();
+
+		this.owners.saveAll(batch);
+		this.entityManager.flush();
+
+		int rows = OWNERS + OWNERS * PETS_PER_OWNER + OWNERS * PETS_PER_OWNER * VISITS_PER_PET;
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(rows);
+		// one batch per table and a few sequence calls, instead of one statement per row
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+	}
+
+	private Owner owner(int i, PetType type) {
+		Owner owner = new Owner();
+		owner.setFirstName("Batch");
+		owner.setLastName("Owner" + i);
+		owner.setAddress("1 Batch St.");
+		owner.setCity("Madison");
+		owner.setTelephone("6085550000");
+		for (int p = 0; p < PETS_PER_OWNER; p++) {
+			Pet pet = new Pet();
+			pet.setName("Pet" + p);
+			pet.setBirthDate(LocalDate.of(2020, 1, 1));
+			pet.setType(type);
+			owner.addPet(pet);
+			for (int v = 0; v < VISITS_PER_PET; v++) {
+				Visit visit = new Visit();
+				visit.setDescription("Visit" + v);
+				pet.addVisit(visit);
+			}
+		}
+		return owner;
+	}
+
+}
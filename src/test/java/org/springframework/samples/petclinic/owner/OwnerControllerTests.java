@@ -24,9 +24,18 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.samples.petclinic.owner.OwnerDetails.UpcomingVisit;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -34,8 +43,10 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
@@ -47,6 +58,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -59,6 +71,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @author Wick Dynex
  */
 @WebMvcTest(OwnerController.class)
+@Import({ UnknownOwnerIds.class, ConcurrentMapCacheManager.class })
 @DisabledInNativeImage
 @DisabledInAotMode
 class OwnerControllerTests {
@@ -71,6 +84,9 @@ class OwnerControllerTests {
 	@MockitoBean
 	private OwnerRepository owners;
 
+	@MockitoBean
+	private OwnerDetailsService ownerDetails;
+
 	private Owner george() {
 		Owner george = new Owner();
 		george.setId(TEST_OWNER_ID);
@@ -98,6 +114,9 @@ class OwnerControllerTests {
 			.willReturn(new PageImpl<>(List.of(george)));
 
 		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(george));
+		given(this.ownerDetails.load(TEST_OWNER_ID)).willReturn(new OwnerDetails(george, Map.of(1, 1L),
+				List.of(new UpcomingVisit(1, "Max", LocalDate.of(2099, 1, 1), "annual checkup"))));
+		willThrow(new OwnerNotFoundException(99)).given(this.ownerDetails).load(99);
 		Visit visit = new Visit();
 		visit.setDate(LocalDate.now());
 		george.getPet("Max").getVisits().add(visit);
@@ -228,9 +247,19 @@ class OwnerControllerTests {
 			.andExpect(model().attribute("owner", hasProperty("pets", not(empty()))))
 			.andExpect(model().attribute("owner",
 					hasProperty("pets", hasItem(hasProperty("visits", hasSize(greaterThan(0)))))))
+			.andExpect(model().attribute("visitCounts", Map.of(1, 1L)))
+			.andExpect(model().attribute("upcomingVisits", hasSize(1)))
+			.andExpect(content().string(containsString("2099-01-01")))
+			.andExpect(content().string(containsString("annual checkup")))
 			.andExpect(view().name("owners/ownerDetails"));
 	}
 
+	@Test
+	void testShowUnknownOwner() throws Exception {
+		mockMvc.perform(get("/owners/{ownerId}", 99)).andExpect(status().isNotFound());
+		mockMvc.perform(get("/owners/{ownerId}/edit", 99)).andExpect(status().isNotFound());
+	}
+
 	@Test
 	public void testProcessUpdateOwnerFormWithIdMismatch() throws Exception {
 		int pathOwnerId = 1;
@@ -451,4 +480,129 @@ class OwnerControllerTests {
 
 	}
 
+	/**
+	 * Tests for the owner search in slice pagination mode
+	 */
+	@Nested
+	@TestPropertySource(properties = "petclinic.owners.pagination=slice")
+	class OwnerSliceSearchTests {
+
+		// Injected from the context of this class rather than the enclosing one
+		@Autowired
+		private MockMvc mockMvc;
+
+		@Autowired
+		private OwnerRepository owners;
+
+		@Test
+		void testProcessFindFormWithoutCount() throws Exception {
+			SliceImpl<Owner> slice = new SliceImpl<>(List.of(george(), new Owner()), PageRequest.of(1, 5), true);
+			when(owners.findSliceByLastNameStartingWith(eq(""), eq(PageRequest.of(1, 5)))).thenReturn(slice);
+
+			mockMvc.perform(get("/owners").param("page", "2"))
+				.andExpect(status().isOk())
+				.andExpect(view().name("owners/ownersList"))
+				.andExpect(model().attribute("listOwners", hasSize(2)))
+				.andExpect(model().attribute("currentPage", is(2)))
+				.andExpect(model().attribute("hasNext", is(true)))
+				.andExpect(model().attributeDoesNotExist("totalPages"));
+		}
+
+		@Test
+		void testProcessFindFormRedirectsToSingleOwner() throws Exception {
+			SliceImpl<Owner> slice = new SliceImpl<>(List.of(george()), PageRequest.of(0, 5), false);
+			when(owners.findSliceByLastNameStartingWith(eq("Franklin"), any(Pageable.class))).thenReturn(slice);
+
+			mockMvc.perform(get("/owners").param("lastName", "Franklin"))
+				.andExpect(status().is3xxRedirection())
+				.andExpect(view().name("redirect:/owners/" + TEST_OWNER_ID));
+		}
+
+		@Test
+		void testProcessFindFormNoOwnersFound() throws Exception {
+			when(owners.findSliceByLastNameStartingWith(eq("Unknown Surname"), any(Pageable.class)))
+				.thenReturn(new SliceImpl<>(List.of()));
+
+			mockMvc.perform(get("/owners").param("lastName", "Unknown Surname"))
+				.andExpect(status().isOk())
+				.andExpect(model().attributeHasFieldErrorCode("owner", "lastName", "notFound"))
+				.andExpect(view().name("owners/findOwners"));
+		}
+
+	}
+
+	/**
+	 * Tests for the owner search in keyset pagination mode
+	 */
+	@Nested
+	@TestPropertySource(properties = "petclinic.owners.pagination=keyset")
+	class OwnerKeysetSearchTests {
+
+		// Injected from the context of this class rather than the enclosing one
+		@Autowired
+		private MockMvc mockMvc;
+
+		@Autowired
+		private OwnerRepository owners;
+
+		@Test
+		void testProcessFindFormLinksToNextWindow() throws Exception {
+			Owner betty = george();
+			betty.setId(2);
+			betty.setFirstName("Betty");
+			Window<Owner> window = Window.from(List.of(george(), betty), ScrollPosition::offset, true);
+			when(owners.findByLastNameStartingWithOrderByLastNameAscIdAsc(eq("Franklin"), eq(ScrollPosition.keyset()),
+					any(Limit.class)))
+				.thenReturn(window);
+
+			mockMvc.perform(get("/owners").param("lastName", "Franklin"))
+				.andExpect(status().isOk())
+				.andExpect(view().name("owners/ownersList"))
+				.andExpect(model().attribute("listOwners", hasSize(2)))
+				.andExpect(model().attribute("nextAfterName", is("Franklin")))
+				.andExpect(model().attribute("nextAfterId", is(2)))
+				.andExpect(model().attributeDoesNotExist("totalPages"));
+		}
+
+		@Test
+		void testProcessFindFormContinuesAfterCursor() throws Exception {
+			Window<Owner> window = Window.from(List.of(george()), ScrollPosition::offset, false);
+			when(owners.findByLastNameStartingWithOrderByLastNameAscIdAsc(eq("Fr"),
+					eq(ScrollPosition.forward(Map.of("lastName", "Davis", "id", 4))), any(Limit.class)))
+				.thenReturn(window);
+
+			mockMvc
+				.perform(get("/owners").param("lastName", "Fr").param("afterName", "Davis").param("afterId", "4"))
+				.andExpect(status().isOk())
+				.andExpect(view().name("owners/ownersList"))
+				.andExpect(model().attribute("listOwners", hasSize(1)))
+				.andExpect(model().attributeDoesNotExist("nextAfterId"));
+		}
+
+		@Test
+		void testProcessFindFormRedirectsToSingleOwner() throws Exception {
+			Window<Owner> window = Window.from(List.of(george()), ScrollPosition::offset, false);
+			when(owners.findByLastNameStartingWithOrderByLastNameAscIdAsc(eq("Franklin"), eq(ScrollPosition.keyset()),
+					any(Limit.class)))
+				.thenReturn(window);
+
+			mockMvc.perform(get("/owners").param("lastName", "Franklin"))
+				.andExpect(status().is3xxRedirection())
+				.andExpect(view().name("redirect:/owners/" + TEST_OWNER_ID));
+		}
+
+		@Test
+		void testProcessFindFormNoOwnersFound() throws Exception {
+			when(owners.findByLastNameStartingWithOrderByLastNameAscIdAsc(eq("Unknown Surname"),
+					eq(ScrollPosition.keyset()), any(Limit.class)))
+				.thenReturn(Window.from(List.of(), ScrollPosition::offset));
+
+			mockMvc.perform(get("/owners").param("lastName", "Unknown Surname"))
+				.andExpect(status().isOk())
+				.andExpect(model().attributeHasFieldErrorCode("owner", "lastName", "notFound"))
+				.andExpect(view().name("owners/findOwners"));
+		}
+
+	}
+
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.samples.petclinic.owner.OwnerDetails.UpcomingVisit;
+
+/**
+ * Test class for {@link OwnerDetailsService}
+ */
+class OwnerDetailsServiceTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+	private final OwnerRepository owners = mock(OwnerRepository.class);
+
+	private final Owner owner = new Owner();
+
+	private OwnerDetailsService service;
+
+	@BeforeEach
+	void setup() {
+		this.owner.setId(6);
+		Pet leo = addPet(7, "Leo");
+		leo.addVisit(visit(TODAY.minusDays(10), "rabies shot"));
+		leo.addVisit(visit(TODAY.plusDays(3), "checkup"));
+		Pet basil = addPet(8, "Basil");
+		basil.addVisit(visit(TODAY, "neutered"));
+		addPet(9, "Rosy");
+		this.service = service();
+	}
+
+	@Test
+	void shouldDeriveTheSummariesFromTheOwnerAggregate() {
+		given(this.owners.findDetailsById(6)).willReturn(Optional.of(this.owner));
+
+		OwnerDetails details = this.service.load(6);
+
+		assertThat(details.owner()).isSameAs(this.owner);
+		assertThat(details.visitCounts()).containsOnly(Map.entry(7, 2L), Map.entry(8, 1L));
+		assertThat(details.upcomingVisits()).containsExactly(new UpcomingVisit(8, "Basil", TODAY, "neutered"),
+				new UpcomingVisit(7, "Leo", TODAY.plusDays(3), "checkup"));
+		verify(this.owners, times(1)).findDetailsById(6);
+	}
+
+	@Test
+	void shouldNotQueryAnIdKnownNotToExist() {
+		given(this.owners.findDetailsById(99)).willReturn(Optional.empty());
+
+		assertThatExceptionOfType(OwnerNotFoundException.class).isThrownBy(() -> this.service.load(99));
+		assertThatExceptionOfType(OwnerNotFoundException.class).isThrownBy(() -> this.service.load(99));
+
+		verify(this.owners, times(1)).findDetailsById(99);
+	}
+
+	private OwnerDetailsService service() {
+		UnknownOwnerIds unknownOwners = new UnknownOwnerIds(new CaffeineCacheManager(UnknownOwnerIds.CACHE_NAME));
+		Clock clock = Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC);
+		return new OwnerDetailsService(this.owners, unknownOwners, clock);
+	}
+
+	private Pet addPet(int id, String name) {
+		Pet pet = new Pet();
+		pet.setName(name);
+		this.owner.addPet(pet);
+		pet.setId(id);
+		return pet;
+	}
+
+	private static Visit visit(LocalDate date, String description) {
+		Visit visit = new Visit();
+		visit.setDate(date);
+		visit.setDescription(description);
+		return visit;
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.samples.petclinic.owner.OwnerExportService.Format;
+import org.springframework.samples.petclinic.owner.OwnerExportService.Table;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Test class for {@link OwnerExportController}
+ */
+@WebMvcTest(OwnerExportController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class OwnerExportControllerTests {
+
+	private static final String ROW = "{\"id\":1}\n";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private OwnerExportService exporter;
+
+	@BeforeEach
+	void setup() throws Exception {
+		given(this.exporter.export(eq(Table.OWNERS), any(Format.class), any(OutputStream.class)))
+			.willAnswer(invocation -> {
+				invocation.getArgument(2, OutputStream.class).write(ROW.getBytes(StandardCharsets.UTF_8));
+				return 1L;
+			});
+	}
+
+	@Test
+	void testExport() throws Exception {
+		mockMvc.perform(get("/export/owners"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+			.andExpect(header().string("Content-Disposition", "attachment; filename=\"owners.ndjson\""))
+			.andExpect(content().string(ROW));
+	}
+
+	@Test
+	void testExportGzip() throws Exception {
+		byte[] body = mockMvc.perform(get("/export/owners").param("format", "csv").param("gzip", "true"))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType("application/gzip"))
+			.andExpect(header().string("Content-Disposition", "attachment; filename=\"owners.csv.gz\""))
+			.andReturn()
+			.getResponse()
+			.getContentAsByteArray();
+		try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(ROW);
+		}
+	}
+
+	@Test
+	void testExportUnknownTable() throws Exception {
+		mockMvc.perform(get("/export/vets")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testExportUnknownFormat() throws Exception {
+		mockMvc.perform(get("/export/owners").param("format", "xml")).andExpect(status().isBadRequest());
+	}
+
+}
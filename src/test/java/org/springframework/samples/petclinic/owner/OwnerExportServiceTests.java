@@ -0,0 +1,66 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.samples.petclinic.owner.OwnerExportService.Format;
+import org.springframework.samples.petclinic.owner.OwnerExportService.Table;
+
+/**
+ * Tests for {@link OwnerExportService}.
+ */
+@DataJpaTest(properties = "petclinic.export.fetch-size=3")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(OwnerExportService.class)
+class OwnerExportServiceTests {
+
+	@Autowired
+	private OwnerExportService exporter;
+
+	@Test
+	void shouldExportOwnersAsNdjson() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		long rows = this.exporter.export(Table.OWNERS, Format.NDJSON, output);
+
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(rows).isEqualTo(10);
+		assertThat(lines).hasSize(10);
+		assertThat(lines[0]).isEqualTo("{\"id\":1,\"first_name\":\"George\",\"last_name\":\"Franklin\","
+				+ "\"address\":\"110 W. Liberty St.\",\"city\":\"Madison\",\"telephone\":\"6085551023\"}");
+	}
+
+	@Test
+	void shouldExportVisitsAsCsv() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		long rows = this.exporter.export(Table.VISITS, Format.CSV, output);
+
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(rows).isEqualTo(4);
+		assertThat(lines).containsExactly("id,pet_id,visit_date,description", "1,7,2013-01-01,rabies shot",
+				"2,8,2013-01-02,rabies shot", "3,8,2013-01-03,neutered", "4,7,2013-01-04,spayed");
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.samples.petclinic.owner.OwnerImportResult.RowError;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Test class for {@link OwnerImportController}
+ */
+@WebMvcTest(OwnerImportController.class)
+@DisabledInNativeImage
+@DisabledInAotMode
+class OwnerImportControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private OwnerImportService importer;
+
+	@Test
+	void testImportOwners() throws Exception {
+		given(this.importer.importOwners(any(Reader.class)))
+			.willReturn(new OwnerImportResult(3, 1, 1, 1, List.of(new RowError(3, "Invalid owner"))));
+		mockMvc
+			.perform(multipart("/owners/import").file(new MockMultipartFile("file", "owners.csv", "text/csv",
+					"firstName,lastName,address,city,telephone\n".getBytes())))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.owners").value(1))
+			.andExpect(jsonPath("$.errorCount").value(1))
+			.andExpect(jsonPath("$.errors[0].line").value(3))
+			.andExpect(jsonPath("$.errors[0].message").value("Invalid owner"));
+	}
+
+	@Test
+	void testImportOwnersWithInvalidHeader() throws Exception {
+		given(this.importer.importOwners(any(Reader.class)))
+			.willThrow(new IllegalArgumentException("Missing column: address"));
+		mockMvc
+			.perform(multipart("/owners/import")
+				.file(new MockMultipartFile("file", "owners.csv", "text/csv", "firstName\n".getBytes())))
+			.andExpect(status().isBadRequest());
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.validation.autoconfigure.ValidationAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.samples.petclinic.owner.OwnerImportResult.RowError;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Tests for {@link OwnerImportService}.
+ */
+@DataJpaTest(properties = "petclinic.owners.import.batch-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ OwnerImportService.class, PetTypeRegistry.class })
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class OwnerImportServiceTests {
+
+	private static final String HEADER = "firstName,lastName,address,city,telephone,petName,petBirthDate,petType\n";
+
+	@Autowired
+	private OwnerImportService importer;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void shouldImportOwnersWithTheirPets() throws IOException {
+		OwnerImportResult result = importCsv(HEADER //
+				+ "Ada,Importer,\"1 Main St, Apt \"\"B\"\"\",Madison,6085550001,Rex,2020-01-01,dog\n"
+				+ "Ada,Importer,\"1 Main St, Apt \"\"B\"\"\",Madison,6085550001,Tom,2021-02-02,Cat\n"
+				+ "Bob,Importer,2 Main St,Madison,6085550002,,,\n" //
+				+ "\n" //
+				+ "Cy,Importer,3 Main St,Madison,6085550003,Polly,2019-03-03,bird");
+
+		assertThat(result.rows()).isEqualTo(4);
+		assertThat(result.owners()).isEqualTo(3);
+		assertThat(result.pets()).isEqualTo(3);
+		assertThat(result.errors()).isEmpty();
+
+		Owner ada = this.owners.findByLastNameStartingWith("Importer", Pageable.unpaged())
+			.filter(owner -> "Ada".equals(owner.getFirstName()))
+			.toList()
+			.get(0);
+		assertThat(ada.getAddress()).isEqualTo("1 Main St, Apt \"B\"");
+		Owner loaded = this.owners.findWithPetsById(ada.getId()).orElseThrow();
+		assertThat(loaded.getPets()).extracting(Pet::getName).containsExactly("Rex", "Tom");
+		assertThat(loaded.getPet("Tom").getType().getName()).isEqualTo("cat");
+	}
+
+	@Test
+	void shouldReportAndSkipInvalidRows() throws IOException {
+		OwnerImportResult result = importCsv(HEADER //
+				+ "Ada,Invalid,1 Main St,Madison,555,Rex,2020-01-01,dog\n" //
+				+ "Ada,Invalid,1 Main St,Madison,555,Tom,2020-01-01,cat\n" //
+				+ "Bob,Valid,2 Main St,Madison,6085550002,Rex,2020-01-01,dragon\n"
+				+ "Bob,Valid,2 Main St,Madison,6085550002,Tom,01/01/2020,cat\n"
+				+ "Bob,Valid,2 Main St,Madison,6085550002,Max,,cat\n"
+				+ "Bob,Valid,2 Main St,Madison,6085550002,Sam,2020-01-01,cat\n"
+				+ "Bob,Valid,2 Main St,Madison,6085550002,Sam,2020-01-01,dog\n");
+
+		assertThat(result.rows()).isEqualTo(7);
+		assertThat(result.owners()).isEqualTo(1);
+		assertThat(result.pets()).isEqualTo(1);
+		assertThat(result.errorCount()).isEqualTo(6);
+		assertThat(result.errors()).extracting(RowError::line).containsExactly(2L, 3L, 4L, 5L, 6L, 8L);
+		assertThat(result.errors().get(0).message()).startsWith("Invalid owner: telephone");
+		assertThat(result.errors().get(1).message()).isEqualTo("Invalid owner, see line 2");
+		assertThat(result.errors().get(2).message()).isEqualTo("Invalid pet: unknown type 'dragon'");
+		assertThat(result.errors().get(3).message()).contains("birthDate '01/01/2020'");
+		assertThat(result.errors().get(4).message()).isEqualTo("Invalid pet: birthDate: required");
+		assertThat(result.errors().get(5).message()).isEqualTo("Invalid pet: duplicate name 'Sam'");
+	}
+
+	@Test
+	void shouldRejectARowWhoseQuoteIsNeverClosed() throws IOException {
+		String runaway = ("x".repeat(99) + "\n").repeat(10);
+		String csv = HEADER + "Ada,\"Unclosed,1 Main St,Madison,6085550001,Rex,2020-01-01,dog\n" + runaway
+				+ "Bob,Unclosed,2 Main St,Madison,6085550002,Tom,2020-01-01,cat\n"
+				+ "Cy,\"Unclosed,3 Main St,Madison,6085550003,Polly,2019-03-03,bird\n";
+
+		OwnerImportResult result = importCsv(csv);
+
+		assertThat(result.owners()).isEqualTo(1);
+		assertThat(result.pets()).isEqualTo(1);
+		assertThat(result.errors()).extracting(RowError::line).containsExactly(2L, 14L);
+		assertThat(result.errors().get(0).message())
+			.isEqualTo("Malformed row: field longer than 1024 characters, is a quote left open?");
+		assertThat(result.errors().get(1).message()).isEqualTo("Malformed row: quote left open at the end of the file");
+		assertThat(this.owners.findByLastNameStartingWith("Unclosed", Pageable.unpaged()))
+			.extracting(Owner::getFirstName)
+			.containsExactly("Bob");
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void shouldSaveARefusedBatchOwnerByOwner() throws IOException {
+		try {
+			OwnerImportResult result = importCsv(HEADER //
+					+ "Ada,Retried,1 Main St,Madison,6085550001,Rex,2020-01-01,dog\n" + "Bob,Retried,2 Main St,"
+					+ "M".repeat(81) + ",6085550002,Tom,2020-01-01,cat\n" + "Bob,Retried,2 Main St," + "M".repeat(81)
+					+ ",6085550002,Max,2020-01-01,cat\n"
+					+ "Cy,Retried,3 Main St,Madison,6085550003,Polly,2019-03-03,bird\n");
+
+			assertThat(result.rows()).isEqualTo(4);
+			assertThat(result.owners()).isEqualTo(2);
+			assertThat(result.pets()).isEqualTo(2);
+			assertThat(result.errorCount()).isEqualTo(1);
+			assertThat(result.errors()).singleElement().satisfies((error) -> {
+				assertThat(error.line()).isEqualTo(3);
+				assertThat(error.message()).startsWith("Could not save owner: ");
+			});
+			assertThat(this.owners.findByLastNameStartingWith("Retried", Pageable.unpaged()))
+				.extracting(Owner::getFirstName)
+				.containsExactlyInAnyOrder("Ada", "Cy");
+		}
+		finally {
+			JdbcClient jdbc = JdbcClient.create(this.dataSource);
+			jdbc.sql("DELETE FROM pets WHERE owner_id IN (SELECT id FROM owners WHERE last_name = 'Retried')").update();
+			jdbc.sql("DELETE FROM owners WHERE last_name = 'Retried'").update();
+		}
+	}
+
+	@Test
+	void shouldRejectFileWithoutOwnerColumns() {
+		assertThatIllegalArgumentException().isThrownBy(() -> importCsv("firstName,lastName\nAda,Importer\n"))
+			.withMessage("Missing column: address");
+		assertThatIllegalArgumentException().isThrownBy(() -> importCsv("")).withMessage("The file is empty");
+	}
+
+	private OwnerImportResult importCsv(String csv) throws IOException {
+		return this.importer.importOwners(new StringReader(csv));
+	}
+
+}
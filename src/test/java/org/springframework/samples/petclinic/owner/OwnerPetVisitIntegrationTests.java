@@ -21,7 +21,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
+import org.springframework.samples.petclinic.system.SqlStatistics;
+import org.springframework.samples.petclinic.system.SqlStatisticsConfiguration;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -38,6 +41,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SqlStatisticsConfiguration.class)
 class OwnerPetVisitIntegrationTests {
 
 	@Autowired
@@ -252,4 +256,20 @@ class OwnerPetVisitIntegrationTests {
 		assertThat(smithTestResults.getContent()).anyMatch(o -> o.getLastName().equals("SmithTest"));
 	}
 
+	/**
+	 * Test that an owner, its pets and their visits are read in a single statement
+	 */
+	@Test
+	@Transactional
+	void testOwnerWithPetsAndVisitsIsLoadedInOneStatement() {
+		SqlStatistics statistics = SqlStatistics.measure(() -> {
+			Owner owner = ownerRepository.findWithPetsAndVisitsById(6).orElseThrow();
+			owner.getPets().forEach(pet -> pet.getVisits().size());
+		});
+
+		assertThat(statistics.getStatements()).isEqualTo(1);
+		// one row per visit of pets 7 and 8
+		assertThat(statistics.getRows()).isEqualTo(4);
+	}
+
 }
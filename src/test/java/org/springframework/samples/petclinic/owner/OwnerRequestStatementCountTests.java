@@ -0,0 +1,201 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import java.time.LocalDate;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.http.client.HttpRedirects;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.test.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements issued by the owner, pet and visit endpoints, to make sure an
+ * owner is loaded at most once per request, and checks that the per-request
+ * {@code petclinic.sql.*} meters agree with Hibernate. Every region of the second-level
+ * cache is emptied before each test so that every request starts cold.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OwnerRequestStatementCountTests {
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Autowired
+	private PetTypeRegistry types;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setup() {
+		this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		evictSecondLevelCache();
+	}
+
+	@Test
+	void repeatOwnerViewsAreServedFromTheSecondLevelCache() {
+		get("/owners/6");
+		assertThat(ownerLoads()).isEqualTo(1);
+		get("/owners/6");
+		assertThat(ownerLoads()).isZero();
+		// the visit counts and upcoming visits are derived from the cached aggregate
+		assertThat(statements()).isZero();
+		assertThat(this.statistics.getDomainDataRegionStatistics("owners").getHitCount()).isPositive();
+		assertThat(this.statistics.getDomainDataRegionStatistics("pet-visits").getHitCount()).isPositive();
+	}
+
+	@Test
+	void ownerViewCountsItsStatementsWithTheRequest() {
+		double before = sqlStatements("/owners/{ownerId}");
+		get("/owners/6");
+		// the owner, its pets and the visits of both pets
+		assertThat(sqlStatements("/owners/{ownerId}") - before).isEqualTo(statements()).isEqualTo(3);
+	}
+
+	@Test
+	void ownerViewFetchesTheVisitsOfAllPetsAtOnce() {
+		Owner owner = new Owner();
+		owner.setFirstName("Kim");
+		owner.setLastName("Kennel");
+		owner.setAddress("1 Kennel Rd");
+		owner.setCity("Madison");
+		owner.setTelephone("6085551234");
+		for (int i = 0; i < 12; i++) {
+			Pet pet = new Pet();
+			pet.setName("Pup " + i);
+			pet.setBirthDate(LocalDate.of(2020, 1, 1));
+			pet.setType(this.types.findByName("dog"));
+			Visit visit = new Visit();
+			visit.setDate(LocalDate.of(2024, 1, 1 + i));
+			visit.setDescription("checkup");
+			pet.addVisit(visit);
+			owner.addPet(pet);
+		}
+		this.owners.save(owner);
+		try {
+			evictSecondLevelCache();
+			get("/owners/" + owner.getId());
+			assertThat(this.statistics.getCollectionStatistics(Pet.class.getName() + ".visits").getFetchCount())
+				.isEqualTo(1);
+			// the owner, its pets and the visits of all twelve pets
+			assertThat(statements()).isEqualTo(3);
+		}
+		finally {
+			this.owners.delete(owner);
+		}
+	}
+
+	@Test
+	void ownerEditFormLoadsTheOwnerRowOnce() {
+		get("/owners/6/edit");
+		assertThat(ownerLoads()).isEqualTo(1);
+		assertThat(statements()).isEqualTo(1);
+	}
+
+	@Test
+	void petCreationFormLoadsTheOwnerOnce() {
+		get("/owners/6/pets/new");
+		assertThat(ownerLoads()).isEqualTo(1);
+		// the owner with its pets; the pet types come from the PetTypeRegistry
+		assertThat(statements()).isEqualTo(1);
+	}
+
+	@Test
+	void petEditFormLoadsTheOwnerOnce() {
+		get("/owners/6/pets/7/edit");
+		assertThat(ownerLoads()).isEqualTo(1);
+		assertThat(statements()).isEqualTo(1);
+	}
+
+	@Test
+	void visitFormLoadsTheOwnerOnce() {
+		get("/owners/6/pets/7/visits/new");
+		assertThat(ownerLoads()).isEqualTo(1);
+		assertThat(statements()).isEqualTo(1);
+	}
+
+	@Test
+	void visitBookingInsertsWithoutLoadingTheOwner() {
+		// the first booking also fetches a block of visit ids from the sequence
+		book();
+		this.statistics.clear();
+		book();
+		assertThat(ownerLoads()).isZero();
+		// the check that the pet belongs to the owner, and the insert
+		assertThat(statements()).isEqualTo(2);
+	}
+
+	private void book() {
+		MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+		form.add("date", "2025-01-01");
+		form.add("description", "checkup");
+		ResponseEntity<String> response = this.rest.withRedirects(HttpRedirects.DONT_FOLLOW)
+			.postForEntity("/owners/6/pets/7/visits/new", form, String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FOUND);
+	}
+
+	private void get(String path) {
+		this.statistics.clear();
+		ResponseEntity<String> response = this.rest.getForEntity(path, String.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+
+	/**
+	 * Empty every region of the second-level cache; the JPA {@code evictAll()} leaves the
+	 * collection regions in place.
+	 */
+	private void evictSecondLevelCache() {
+		this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+	}
+
+	private long ownerLoads() {
+		return this.statistics.getEntityStatistics(Owner.class.getName()).getLoadCount();
+	}
+
+	private long statements() {
+		return this.statistics.getPrepareStatementCount();
+	}
+
+	private double sqlStatements(String uri) {
+		DistributionSummary summary = this.registry.find("petclinic.sql.statements").tag("uri", uri).summary();
+		return (summary != null) ? summary.totalAmount() : 0;
+	}
+
+}
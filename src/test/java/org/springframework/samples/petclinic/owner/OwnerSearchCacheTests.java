@@ -0,0 +1,176 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Test class for {@link OwnerSearchCache}
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisabledInNativeImage
+class OwnerSearchCacheTests {
+
+	private static final Pageable FIRST_PAGE = PageRequest.of(0, 5);
+
+	@Mock
+	private OwnerRepository owners;
+
+	private OwnerSearchCache cache;
+
+	@BeforeEach
+	void setup() {
+		given(this.owners.findByLastNameStartingWith(eq("Dav"), any(Pageable.class)))
+			.willAnswer(invocation -> new PageImpl<>(List.of(owner(2, "Davis"), owner(4, "Davis")),
+					invocation.getArgument(1), 2));
+		given(this.owners.findByLastNameStartingWith(eq("Fra"), any(Pageable.class)))
+			.willAnswer(invocation -> new PageImpl<>(List.of(owner(1, "Franklin")), invocation.getArgument(1), 1));
+		given(this.owners.findByLastNameStartingWith(eq(""), any(Pageable.class)))
+			.willAnswer(invocation -> new PageImpl<>(List.of(owner(1, "Franklin")), invocation.getArgument(1), 10));
+		given(this.owners.findAllById(anyIterable())).willAnswer(invocation -> {
+			List<Owner> result = new ArrayList<>();
+			for (Object id : invocation.<Iterable<?>>getArgument(0)) {
+				result.add(owner((Integer) id, "Fresh"));
+			}
+			return result;
+		});
+		this.cache = new OwnerSearchCache(this.owners, new CaffeineCacheManager(OwnerSearchCache.CACHE_NAME));
+	}
+
+	@Test
+	void shouldServeRepeatedSearchesByIdWithoutQuerying() {
+		this.cache.findByLastNameStartingWith("Dav", FIRST_PAGE);
+		Page<Owner> page = this.cache.findByLastNameStartingWith("Dav", FIRST_PAGE);
+
+		verify(this.owners, times(1)).findByLastNameStartingWith("Dav", FIRST_PAGE);
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		// owners are always read through the repository, never from the cache
+		assertThat(page.getContent()).extracting(Owner::getId).containsExactly(2, 4);
+		assertThat(page.getContent()).extracting(Owner::getLastName).containsOnly("Fresh");
+	}
+
+	@Test
+	void shouldEvictOnlySearchesMatchingTheSavedOwner() {
+		this.cache.findByLastNameStartingWith("Dav", FIRST_PAGE);
+		this.cache.findByLastNameStartingWith("Fra", FIRST_PAGE);
+
+		this.cache.onOwnerSaved(new OwnerSavedEvent(owner(10, "davenport"), null));
+		this.cache.findByLastNameStartingWith("Dav", FIRST_PAGE);
+		this.cache.findByLastNameStartingWith("Fra", FIRST_PAGE);
+
+		verify(this.owners, times(2)).findByLastNameStartingWith("Dav", FIRST_PAGE);
+		verify(this.owners, times(1)).findByLastNameStartingWith("Fra", FIRST_PAGE);
+	}
+
+	@Test
+	void shouldEvictSearchesMatchingThePreviousLastName() {
+		this.cache.findByLastNameStartingWith("Fra", FIRST_PAGE);
+
+		this.cache.onOwnerSaved(new OwnerSavedEvent(owner(1, "Smith"), "Franklin"));
+		this.cache.findByLastNameStartingWith("Fra", FIRST_PAGE);
+
+		verify(this.owners, times(2)).findByLastNameStartingWith("Fra", FIRST_PAGE);
+	}
+
+	@Test
+	void shouldEvictEveryPageOfEachPrefixOfTheSavedOwnerIgnoringCase() {
+		Pageable secondPage = PageRequest.of(1, 5);
+		this.cache.findByLastNameStartingWith("", FIRST_PAGE);
+		this.cache.findByLastNameStartingWith("Dav", FIRST_PAGE);
+		this.cache.findByLastNameStartingWith("Dav", secondPage);
+		this.cache.findByLastNameStartingWith("Fra", FIRST_PAGE);
+
+		this.cache.onOwnerSaved(new OwnerSavedEvent(owner(10, "DAVIES"), null));
+		this.cache.findByLastNameStartingWith("", FIRST_PAGE);
+		this.cache.findByLastNameStartingWith("Dav", FIRST_PAGE);
+		this.cache.findByLastNameStartingWith("Dav", secondPage);
+		this.cache.findByLastNameStartingWith("Fra", FIRST_PAGE);
+
+		verify(this.owners, times(2)).findByLastNameStartingWith("", FIRST_PAGE);
+		verify(this.owners, times(2)).findByLastNameStartingWith("Dav", FIRST_PAGE);
+		verify(this.owners, times(2)).findByLastNameStartingWith("Dav", secondPage);
+		verify(this.owners, times(1)).findByLastNameStartingWith("Fra", FIRST_PAGE);
+	}
+
+	@Test
+	void shouldKeepEvictingAfterPruningTheIndex() {
+		for (int page = 0; page < 1500; page++) {
+			this.cache.findByLastNameStartingWith("Fra", PageRequest.of(page, 5));
+		}
+		this.cache.findByLastNameStartingWith("Dav", FIRST_PAGE);
+
+		this.cache.onOwnerSaved(new OwnerSavedEvent(owner(10, "Davis"), null));
+		this.cache.findByLastNameStartingWith("Dav", FIRST_PAGE);
+
+		verify(this.owners, times(2)).findByLastNameStartingWith("Dav", FIRST_PAGE);
+	}
+
+	@Test
+	void shouldNotCacheASearchThatRanWhileAnOwnerWasSaved() {
+		given(this.owners.findByLastNameStartingWith(eq("Fra"), any(Pageable.class))).willAnswer(invocation -> {
+			// the save commits, and evicts, while the query is running
+			this.cache.onOwnerSaved(new OwnerSavedEvent(owner(10, "Frank"), null));
+			return new PageImpl<>(List.of(owner(1, "Franklin")), invocation.getArgument(1), 1);
+		});
+
+		this.cache.findByLastNameStartingWith("Fra", FIRST_PAGE);
+		this.cache.findByLastNameStartingWith("Fra", FIRST_PAGE);
+
+		verify(this.owners, times(2)).findByLastNameStartingWith("Fra", FIRST_PAGE);
+	}
+
+	@Test
+	void shouldSearchAgainWhenACachedOwnerIsGone() {
+		this.cache.findByLastNameStartingWith("Dav", FIRST_PAGE);
+		given(this.owners.findAllById(anyIterable())).willReturn(List.of(owner(2, "Davis")));
+
+		this.cache.findByLastNameStartingWith("Dav", FIRST_PAGE);
+
+		verify(this.owners, times(2)).findByLastNameStartingWith("Dav", FIRST_PAGE);
+	}
+
+	private static Owner owner(int id, String lastName) {
+		Owner owner = new Owner();
+		owner.setId(id);
+		owner.setLastName(lastName);
+		return owner;
+	}
+
+}
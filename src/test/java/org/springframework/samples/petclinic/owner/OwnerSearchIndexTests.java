@@ -0,0 +1,223 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.samples.petclinic.owner.OwnerRepository.OwnerLastName;
+
+/**
+ * Test class for {@link OwnerSearchIndex}
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisabledInNativeImage
+class OwnerSearchIndexTests {
+
+	@Mock
+	private OwnerRepository owners;
+
+	private OwnerSearchIndex index;
+
+	@BeforeEach
+	void setup() {
+		given(this.owners.findAllLastNames()).willReturn(List.of(lastName(1, "Franklin"), lastName(2, "Davis"),
+				lastName(3, "Rodriquez"), lastName(4, "Davis"), lastName(5, "McTavish"), lastName(6, "Coleman")));
+		given(this.owners.findAllById(anyIterable())).willAnswer(invocation -> {
+			List<Owner> result = new ArrayList<>();
+			for (Object id : invocation.<Iterable<?>>getArgument(0)) {
+				Owner owner = new Owner();
+				owner.setId((Integer) id);
+				result.add(owner);
+			}
+			return result;
+		});
+		this.index = new OwnerSearchIndex(this.owners);
+		this.index.afterSingletonsInstantiated();
+	}
+
+	@Test
+	void shouldFindOwnersByLastNamePrefixIgnoringCase() {
+		Page<Owner> page = this.index.findByLastNameStartingWith("dav", Pageable.unpaged());
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.getContent()).extracting(Owner::getId).containsExactly(2, 4);
+	}
+
+	@Test
+	void shouldReturnEveryOwnerForEmptyPrefix() {
+		Page<Owner> page = this.index.findByLastNameStartingWith("", PageRequest.of(1, 4));
+		assertThat(page.getTotalElements()).isEqualTo(6);
+		assertThat(page.getTotalPages()).isEqualTo(2);
+		// Coleman, Davis, Davis, Franklin | McTavish, Rodriquez
+		assertThat(page.getContent()).extracting(Owner::getId).containsExactly(5, 3);
+	}
+
+	@Test
+	void shouldNotQueryDatabaseWhenNothingMatches() {
+		Page<Owner> page = this.index.findByLastNameStartingWith("Daviss", PageRequest.of(0, 5));
+		assertThat(page).isEmpty();
+		assertThat(page.getTotalElements()).isZero();
+		verify(this.owners, never()).findAllById(anyIterable());
+	}
+
+	@Test
+	void shouldFollowSavedOwners() {
+		Owner owner = new Owner();
+		owner.setId(7);
+		owner.setLastName("Davidson");
+		this.index.onOwnerSaved(new OwnerSavedEvent(owner, null));
+		assertThat(this.index.findByLastNameStartingWith("Davi", Pageable.unpaged()).getContent())
+			.extracting(Owner::getId)
+			.containsExactly(7, 2, 4);
+
+		owner.setLastName("Black");
+		this.index.onOwnerSaved(new OwnerSavedEvent(owner, null));
+		assertThat(this.index.findByLastNameStartingWith("Davi", Pageable.unpaged()).getTotalElements()).isEqualTo(2);
+		assertThat(this.index.findByLastNameStartingWith("Bla", Pageable.unpaged()).getContent())
+			.extracting(Owner::getId)
+			.containsExactly(7);
+	}
+
+	@Test
+	void shouldFollowConcurrentSaves() {
+		IntStream.range(100, 1100).parallel().forEach(id -> this.index.index(id, "Renamed" + (id % 10)));
+		IntStream.range(100, 1100).parallel().forEach(id -> this.index.index(id, "Moved" + (id % 10)));
+
+		assertThat(this.index.findByLastNameStartingWith("Renamed", Pageable.unpaged()).getTotalElements()).isZero();
+		assertThat(this.index.findByLastNameStartingWith("Moved", PageRequest.of(0, 5)).getTotalElements())
+			.isEqualTo(1000);
+		assertThat(this.index.findByLastNameStartingWith("moved3", Pageable.unpaged()).getTotalElements())
+			.isEqualTo(100);
+	}
+
+	@Test
+	void shouldFindOwnersByLastNameFragment() {
+		assertThat(this.index.findByLastNameContaining("avi", Pageable.unpaged()).getContent()).extracting(Owner::getId)
+			.containsExactly(2, 4, 5);
+		assertThat(this.index.findByLastNameContaining("TAVISH", Pageable.unpaged()).getContent())
+			.extracting(Owner::getId)
+			.containsExactly(5);
+		assertThat(this.index.findByLastNameContaining("an", Pageable.unpaged()).getContent()).extracting(Owner::getId)
+			.containsExactly(6, 1);
+		assertThat(this.index.findByLastNameContaining("xyz", Pageable.unpaged())).isEmpty();
+	}
+
+	@Test
+	void shouldFindSavedOwnersByLastNameFragment() {
+		this.index.index(7, "Bavins");
+		this.index.index(2, "Black");
+
+		Page<Owner> page = this.index.findByLastNameContaining("avi", PageRequest.of(0, 2));
+
+		assertThat(page.getTotalElements()).isEqualTo(3);
+		// Bavins, Davis | McTavish
+		assertThat(page.getContent()).extracting(Owner::getId).containsExactly(7, 4);
+	}
+
+	@Test
+	void shouldPageThroughSavesAsTheDatabaseWould() {
+		Random random = new Random(42);
+		Map<Integer, String> model = new HashMap<>(
+				Map.of(1, "franklin", 2, "davis", 3, "rodriquez", 4, "davis", 5, "mctavish", 6, "coleman"));
+		String[] names = { "davis", "davidson", "dale", "coleman", "cole", "black", "franklin", "d" };
+		// enough saves to merge the added and removed entries into the index several
+		// times
+		for (int save = 0; save < 500; save++) {
+			int id = 1 + random.nextInt(120);
+			String name = names[random.nextInt(names.length)];
+			this.index.index(id, name.toUpperCase());
+			model.put(id, name);
+			if (save % 25 == 0) {
+				for (String prefix : List.of("", "d", "da", "davi", "col", "z")) {
+					List<Integer> expected = model.entrySet()
+						.stream()
+						.filter((entry) -> entry.getValue().startsWith(prefix))
+						.sorted(Map.Entry.<Integer, String>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+						.map(Map.Entry::getKey)
+						.toList();
+					for (int page = 0; page * 7 <= expected.size(); page++) {
+						Page<Owner> result = this.index.findByLastNameStartingWith(prefix, PageRequest.of(page, 7));
+						assertThat(result.getTotalElements()).as(prefix).isEqualTo(expected.size());
+						assertThat(result.getContent()).extracting(Owner::getId)
+							.as("%s page %d", prefix, page)
+							.isEqualTo(expected.subList(page * 7, Math.min(page * 7 + 7, expected.size())));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void shouldKeepAnsweringFromTheCurrentIndexWhileReloading() throws Exception {
+		CountDownLatch reloading = new CountDownLatch(1);
+		CountDownLatch searched = new CountDownLatch(1);
+		given(this.owners.findAllLastNames()).willAnswer((invocation) -> {
+			reloading.countDown();
+			searched.await(5, TimeUnit.SECONDS);
+			return List.of(lastName(2, "Davis"));
+		});
+		CompletableFuture<Void> reload = CompletableFuture.runAsync(this.index::load);
+		assertThat(reloading.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(this.index.findByLastNameStartingWith("", Pageable.unpaged()).getTotalElements()).isEqualTo(6);
+		searched.countDown();
+		reload.get(5, TimeUnit.SECONDS);
+
+		assertThat(this.index.findByLastNameStartingWith("", Pageable.unpaged()).getTotalElements()).isEqualTo(1);
+	}
+
+	private static OwnerLastName lastName(int id, String lastName) {
+		return new OwnerLastName() {
+
+			@Override
+			public Integer getId() {
+				return id;
+			}
+
+			@Override
+			public String getLastName() {
+				return lastName;
+			}
+
+		};
+	}
+
+}
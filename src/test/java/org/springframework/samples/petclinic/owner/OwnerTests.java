@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the pet lookups of {@link Owner}
+ */
+class OwnerTests {
+
+	private Owner owner;
+
+	private Pet leo;
+
+	private Pet basil;
+
+	@BeforeEach
+	void setup() {
+		this.owner = new Owner();
+		this.leo = savedPet(1, "Leo");
+		this.basil = savedPet(2, "Basil");
+	}
+
+	@Test
+	void shouldFindPetsByIdAndByNameIgnoringCase() {
+		assertThat(this.owner.getPet(1)).isSameAs(this.leo);
+		assertThat(this.owner.getPet(3)).isNull();
+		assertThat(this.owner.getPet("basil")).isSameAs(this.basil);
+		assertThat(this.owner.getPet("BASIL", true)).isSameAs(this.basil);
+		assertThat(this.owner.getPet("Rosy")).isNull();
+	}
+
+	@Test
+	void shouldMatchNamesLikeEqualsIgnoreCase() {
+		savedPet(3, "Élodie");
+		savedPet(4, "Straße");
+
+		assertThat(this.owner.getPet("éLODIE")).extracting(Pet::getId).isEqualTo(3);
+		assertThat(this.owner.getPet("STRASSE")).isNull();
+		assertThat(this.owner.getPet("STRAßE")).extracting(Pet::getId).isEqualTo(4);
+	}
+
+	@Test
+	void shouldIgnoreNewPetsOnlyWhenAsked() {
+		Pet rosy = new Pet();
+		rosy.setName("Rosy");
+		this.owner.addPet(rosy);
+
+		assertThat(this.owner.getPet("rosy")).isSameAs(rosy);
+		assertThat(this.owner.getPet("rosy", true)).isNull();
+		assertThat(this.owner.getPet((Integer) null)).isNull();
+	}
+
+	@Test
+	void shouldIndexPetsAddedAfterALookup() {
+		assertThat(this.owner.getPet("Rosy")).isNull();
+
+		Pet rosy = new Pet();
+		rosy.setName("Rosy");
+		this.owner.addPet(rosy);
+
+		assertThat(this.owner.getPet("rosy")).isSameAs(rosy);
+	}
+
+	@Test
+	void shouldFindANewPetByIdOnceItIsSaved() {
+		Pet rosy = new Pet();
+		rosy.setName("Rosy");
+		this.owner.addPet(rosy);
+		assertThat(this.owner.getPet("Rosy", true)).isNull();
+
+		rosy.setId(3);
+
+		assertThat(this.owner.getPet(3)).isSameAs(rosy);
+		assertThat(this.owner.getPet("Rosy", true)).isSameAs(rosy);
+	}
+
+	@Test
+	void shouldFollowRenamedPets() {
+		assertThat(this.owner.getPet("Leo")).isSameAs(this.leo);
+
+		this.leo.setName("Max");
+
+		assertThat(this.owner.getPet("Leo")).isNull();
+		assertThat(this.owner.getPet("max")).isSameAs(this.leo);
+	}
+
+	@Test
+	void shouldReturnTheFirstPetWithADuplicateName() {
+		savedPet(3, "leo");
+
+		assertThat(this.owner.getPet("LEO")).isSameAs(this.leo);
+	}
+
+	@Test
+	void shouldListThePetsWithoutCopyingThem() {
+		List<Pet> pets = this.owner.getPets();
+		assertThat(pets).containsExactly(this.leo, this.basil);
+		assertThat(this.owner.getPets()).isSameAs(pets);
+
+		Pet rosy = new Pet();
+		rosy.setName("Rosy");
+		this.owner.addPet(rosy);
+
+		assertThat(this.owner.getPets()).isSameAs(pets).containsExactly(this.leo, this.basil, rosy);
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> pets.add(new Pet()));
+	}
+
+	private Pet savedPet(int id, String name) {
+		Pet pet = new Pet();
+		pet.setName(name);
+		this.owner.addPet(pet);
+		pet.setId(id);
+		return pet;
+	}
+
+}
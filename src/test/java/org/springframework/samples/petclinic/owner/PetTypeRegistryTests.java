@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.samples.petclinic.model.ReferenceDataChangedEvent;
+import org.springframework.samples.petclinic.vet.Specialty;
+
+/**
+ * Test class for {@link PetTypeRegistry}
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+class PetTypeRegistryTests {
+
+	@Mock
+	private PetTypeRepository types;
+
+	private PetTypeRegistry registry;
+
+	@BeforeEach
+	void setup() {
+		given(this.types.findPetTypes()).willReturn(List.of(petType(1, "cat"), petType(2, "dog")));
+		this.registry = new PetTypeRegistry(this.types);
+		this.registry.afterSingletonsInstantiated();
+	}
+
+	@Test
+	void shouldLookUpPreloadedTypesWithoutQuerying() {
+		assertThat(this.registry.getAll()).extracting(PetType::getName).containsExactly("cat", "dog");
+		assertThat(this.registry.findByName("dog")).extracting(PetType::getId).isEqualTo(2);
+		assertThat(this.registry.findById(1)).extracting(PetType::getName).isEqualTo("cat");
+		assertThat(this.registry.findByName("fish")).isNull();
+		assertThat(this.registry.findById(3)).isNull();
+		then(this.types).should(times(1)).findPetTypes();
+	}
+
+	@Test
+	void shouldSwapInNewTypesWhenPetTypesChange() {
+		List<PetType> before = this.registry.getAll();
+		given(this.types.findPetTypes()).willReturn(List.of(petType(1, "cat"), petType(2, "dog"), petType(3, "fish")));
+
+		this.registry.onChanged(new ReferenceDataChangedEvent(PetType.class));
+
+		assertThat(this.registry.findByName("fish")).extracting(PetType::getId).isEqualTo(3);
+		assertThat(before).hasSize(2);
+	}
+
+	@Test
+	void shouldIgnoreChangesToOtherReferenceData() {
+		this.registry.onChanged(new ReferenceDataChangedEvent(Specialty.class));
+		then(this.types).should(times(1)).findPetTypes();
+	}
+
+	private static PetType petType(int id, String name) {
+		PetType type = new PetType();
+		type.setId(id);
+		type.setName(name);
+		return type;
+	}
+
+}
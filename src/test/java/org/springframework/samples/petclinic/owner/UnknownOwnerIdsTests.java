@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * Test class for {@link UnknownOwnerIds}
+ */
+class UnknownOwnerIdsTests {
+
+	private final AtomicInteger lookups = new AtomicInteger();
+
+	private UnknownOwnerIds unknownOwners;
+
+	@BeforeEach
+	void setup() {
+		this.unknownOwners = new UnknownOwnerIds(new CaffeineCacheManager(UnknownOwnerIds.CACHE_NAME));
+	}
+
+	@Test
+	void shouldAnswerRepeatedMissesWithoutLookingUp() {
+		for (int i = 0; i < 3; i++) {
+			assertThatExceptionOfType(OwnerNotFoundException.class)
+				.isThrownBy(() -> this.unknownOwners.findOwner(99, this::findNothing))
+				.withMessage("Owner not found with id: 99")
+				.satisfies(ex -> assertThat(ex.getStackTrace()).isEmpty());
+		}
+		assertThat(this.lookups).hasValue(1);
+	}
+
+	@Test
+	void shouldForgetAnIdOnceTheOwnerIsSaved() {
+		assertThatExceptionOfType(OwnerNotFoundException.class)
+			.isThrownBy(() -> this.unknownOwners.findOwner(99, this::findNothing));
+
+		Owner owner = new Owner();
+		owner.setId(99);
+		this.unknownOwners.onOwnerSaved(new OwnerSavedEvent(owner, null));
+
+		assertThat(this.unknownOwners.findOwner(99, id -> Optional.of(owner))).isSameAs(owner);
+	}
+
+	@Test
+	void shouldNotCacheAMissThatRacedWithASave() {
+		Owner owner = new Owner();
+		owner.setId(99);
+		// the owner is committed after the lookup ran but before its miss is cached
+		assertThatExceptionOfType(OwnerNotFoundException.class)
+			.isThrownBy(() -> this.unknownOwners.findOwner(99, id -> {
+				this.unknownOwners.onOwnerSaved(new OwnerSavedEvent(owner, null));
+				return Optional.empty();
+			}));
+
+		assertThat(this.unknownOwners.findOwner(99, id -> Optional.of(owner))).isSameAs(owner);
+	}
+
+	private Optional<Owner> findNothing(int ownerId) {
+		this.lookups.incrementAndGet();
+		return Optional.empty();
+	}
+
+}
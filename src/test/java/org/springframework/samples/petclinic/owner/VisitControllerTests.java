@@ -16,7 +16,11 @@
 
 package org.springframework.samples.petclinic.owner;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
@@ -28,6 +32,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -44,6 +50,7 @@ import org.junit.jupiter.api.Nested;
  * @author Wick Dynex
  */
 @WebMvcTest(VisitController.class)
+@Import({ UnknownOwnerIds.class, ConcurrentMapCacheManager.class })
 @DisabledInNativeImage
 @DisabledInAotMode
 class VisitControllerTests {
@@ -58,13 +65,16 @@ class VisitControllerTests {
 	@MockitoBean
 	private OwnerRepository owners;
 
+	@MockitoBean
+	private VisitBookingService visits;
+
 	@BeforeEach
 	void init() {
 		Owner owner = new Owner();
 		Pet pet = new Pet();
 		owner.addPet(pet);
 		pet.setId(TEST_PET_ID);
-		given(this.owners.findById(TEST_OWNER_ID)).willReturn(Optional.of(owner));
+		given(this.owners.findWithPetsAndVisitsById(TEST_OWNER_ID)).willReturn(Optional.of(owner));
 	}
 
 	@Test
@@ -82,6 +92,18 @@ class VisitControllerTests {
 				.param("description", "Visit Description"))
 			.andExpect(status().is3xxRedirection())
 			.andExpect(view().name("redirect:/owners/{ownerId}"));
+		then(this.visits).should().book(eq(TEST_OWNER_ID), eq(TEST_PET_ID), any(Visit.class));
+	}
+
+	@Test
+	void testProcessNewVisitFormForUnknownPet() throws Exception {
+		willThrow(new PetNotFoundException(TEST_OWNER_ID, 99)).given(this.visits)
+			.book(eq(TEST_OWNER_ID), eq(99), any(Visit.class));
+
+		mockMvc
+			.perform(post("/owners/{ownerId}/pets/{petId}/visits/new", TEST_OWNER_ID, 99).param("description",
+					"Visit Description"))
+			.andExpect(status().isNotFound());
 	}
 
 	@Test
@@ -92,6 +114,7 @@ class VisitControllerTests {
 			.andExpect(model().attributeHasErrors("visit"))
 			.andExpect(status().isOk())
 			.andExpect(view().name("pets/createOrUpdateVisitForm"));
+		then(this.visits).shouldHaveNoInteractions();
 	}
 
 	/**
@@ -17,9 +17,13 @@
 package org.springframework.samples.petclinic.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -27,18 +31,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.OwnerNotFoundException;
 import org.springframework.samples.petclinic.owner.OwnerRepository;
 import org.springframework.samples.petclinic.owner.PetTypeRepository;
 import org.springframework.samples.petclinic.owner.Pet;
+import org.springframework.samples.petclinic.owner.PetNotFoundException;
 import org.springframework.samples.petclinic.owner.PetType;
 import org.springframework.samples.petclinic.owner.Visit;
+import org.springframework.samples.petclinic.owner.VisitBookingService;
 import org.springframework.samples.petclinic.vet.Vet;
 import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.Persistence;
+
 /**
  * Integration test of the Service and the Repository layer.
  * <p>
@@ -70,6 +85,7 @@ import org.springframework.transaction.annotation.Transactional;
 @DataJpaTest
 // Ensure that if the mysql profile is active we connect to the real database:
 @AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(VisitBookingService.class)
 // @TestPropertySource("/application-postgres.properties")
 class ClinicServiceTests {
 
@@ -82,6 +98,9 @@ class ClinicServiceTests {
 	@Autowired
 	protected VetRepository vets;
 
+	@Autowired
+	protected VisitBookingService visits;
+
 	private final Pageable pageable = Pageable.unpaged();
 
 	@Test
@@ -93,6 +112,34 @@ class ClinicServiceTests {
 		assertThat(owners).isEmpty();
 	}
 
+	@Test
+	void shouldFindOwnersByLastNameWithoutCount() {
+		Slice<Owner> owners = this.owners.findSliceByLastNameStartingWith("Davis", PageRequest.of(0, 1));
+		assertThat(owners).hasSize(1);
+		assertThat(owners.hasNext()).isTrue();
+
+		owners = this.owners.findSliceByLastNameStartingWith("Davis", PageRequest.of(1, 1));
+		assertThat(owners).hasSize(1);
+		assertThat(owners.hasNext()).isFalse();
+	}
+
+	@Test
+	void shouldScrollOwnersByLastName() {
+		Window<Owner> owners = this.owners.findByLastNameStartingWithOrderByLastNameAscIdAsc("",
+				ScrollPosition.keyset(), Limit.of(3));
+		assertThat(owners).extracting(Owner::getLastName).containsExactly("Black", "Coleman", "Davis");
+		assertThat(owners.hasNext()).isTrue();
+
+		owners = this.owners.findByLastNameStartingWithOrderByLastNameAscIdAsc("",
+				ScrollPosition.forward(Map.of("lastName", "Davis", "id", 2)), Limit.of(3));
+		assertThat(owners).extracting(Owner::getLastName).containsExactly("Davis", "Escobito", "Estaban");
+		assertThat(owners.getContent().get(0).getId()).isEqualTo(4);
+
+		owners = this.owners.findByLastNameStartingWithOrderByLastNameAscIdAsc("Davis",
+				ScrollPosition.forward(Map.of("lastName", "Davis", "id", 4)), Limit.of(3));
+		assertThat(owners).isEmpty();
+	}
+
 	@Test
 	void shouldFindSingleOwnerWithPet() {
 		Optional<Owner> optionalOwner = this.owners.findById(1);
@@ -104,6 +151,28 @@ class ClinicServiceTests {
 		assertThat(owner.getPets().get(0).getType().getName()).isEqualTo("cat");
 	}
 
+	@Test
+	void shouldFetchOnlyTheOwnerRowById() {
+		Owner owner = this.owners.findById(6).orElseThrow();
+		assertThat(Persistence.getPersistenceUtil().isLoaded(owner, "pets")).isFalse();
+	}
+
+	@Test
+	void shouldFetchOwnerWithPetsAndVisitsInOneQuery() {
+		Owner owner = this.owners.findWithPetsAndVisitsById(6).orElseThrow();
+		assertThat(Persistence.getPersistenceUtil().isLoaded(owner, "pets")).isTrue();
+		assertThat(owner.getPets()).extracting(Pet::getName).containsExactly("Max", "Samantha");
+		assertThat(owner.getPets()).allMatch(pet -> Persistence.getPersistenceUtil().isLoaded(pet, "visits"));
+		assertThat(owner.getPet(7).getVisits()).hasSize(2);
+	}
+
+	@Test
+	void shouldFindPetNamesByOwnerIds() {
+		assertThat(this.owners.findPetNamesByOwnerIdIn(List.of(3, 6)))
+			.extracting(OwnerRepository.PetName::getOwnerId, OwnerRepository.PetName::getName)
+			.containsExactly(tuple(3, "Jewel"), tuple(6, "Max"), tuple(3, "Rosy"), tuple(6, "Samantha"));
+	}
+
 	@Test
 	@Transactional
 	void shouldInsertOwner() {
@@ -212,6 +281,17 @@ class ClinicServiceTests {
 		assertThat(vet.getSpecialties().get(1).getName()).isEqualTo("surgery");
 	}
 
+	@Test
+	void shouldScrollVetsByLastName() {
+		Window<Vet> vets = this.vets.findAllByOrderByLastNameAscIdAsc(ScrollPosition.keyset(), Limit.of(4));
+		assertThat(vets).extracting(Vet::getLastName).containsExactly("Carter", "Douglas", "Jenkins", "Leary");
+		assertThat(vets.hasNext()).isTrue();
+
+		vets = this.vets.findAllByOrderByLastNameAscIdAsc(vets.positionAt(vets.size() - 1), Limit.of(4));
+		assertThat(vets).extracting(Vet::getLastName).containsExactly("Ortega", "Stevens");
+		assertThat(vets.hasNext()).isFalse();
+	}
+
 	@Test
 	@Transactional
 	void shouldAddNewVisitForPet() {
@@ -232,6 +312,30 @@ class ClinicServiceTests {
 			.allMatch(value -> value.getId() != null);
 	}
 
+	@Test
+	@Transactional
+	void shouldBookVisitForPet() {
+		Visit visit = new Visit();
+		visit.setDescription("test");
+		this.visits.book(6, 7, visit);
+		assertThat(visit.getId()).isNotNull();
+
+		Owner owner6 = this.owners.findWithPetsAndVisitsById(6).orElseThrow();
+		assertThat(owner6.getPet(7).getVisits()).hasSize(3).anyMatch(value -> "test".equals(value.getDescription()));
+	}
+
+	@Test
+	void shouldNotBookVisitForPetOfAnotherOwner() {
+		assertThatExceptionOfType(PetNotFoundException.class).isThrownBy(() -> this.visits.book(1, 7, new Visit()))
+			.withMessage("Pet with id 7 not found for owner with id 1.");
+	}
+
+	@Test
+	void shouldNotBookVisitForUnknownOwner() {
+		assertThatExceptionOfType(OwnerNotFoundException.class)
+			.isThrownBy(() -> this.visits.book(9999, 7, new Visit()));
+	}
+
 	@Test
 	void shouldFindVisitsByPetId() {
 		Optional<Owner> optionalOwner = this.owners.findById(6);
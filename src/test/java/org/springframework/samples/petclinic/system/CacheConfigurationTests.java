@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.owner.PetType;
+import org.springframework.samples.petclinic.owner.PetTypeRegistry;
+import org.springframework.samples.petclinic.owner.PetTypeRepository;
+import org.springframework.samples.petclinic.vet.VetRepository;
+
+/**
+ * Tests for the cache registry set up by {@link CacheConfiguration}.
+ */
+@SpringBootTest(classes = PetClinicApplication.class, properties = { "petclinic.cache.caches.owners.maximum-size=20",
+		"petclinic.cache.caches.owners.expire-after-access=5m" })
+class CacheConfigurationTests {
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private VetRepository vets;
+
+	@Autowired
+	private PetTypeRepository types;
+
+	@Autowired
+	private PetTypeRegistry registry;
+
+	@Test
+	void shouldRegisterCachesDeclaredInProperties() {
+		Policy<Object, Object> owners = nativeCache("owners").policy();
+		assertThat(owners.eviction().orElseThrow().getMaximum()).isEqualTo(20);
+		assertThat(owners.expireAfterAccess().orElseThrow().getExpiresAfter()).isEqualTo(Duration.ofMinutes(5));
+		assertThat(owners.expireAfterWrite()).isEmpty();
+		assertThat(owners.isRecordingStats()).isTrue();
+
+		Policy<Object, Object> vetPages = nativeCache("vetPages").policy();
+		assertThat(vetPages.eviction().orElseThrow().isWeighted()).isTrue();
+		assertThat(vetPages.eviction().orElseThrow().getMaximum()).isEqualTo(1000);
+		assertThat(vetPages.expireAfterWrite().orElseThrow().getExpiresAfter()).isEqualTo(Duration.ofMinutes(10));
+	}
+
+	@Test
+	void shouldCacheEachVetPageUnderItsOwnKey() {
+		this.vets.findAll(PageRequest.of(0, 5));
+		this.vets.findAll(PageRequest.of(1, 5));
+		this.vets.findAll(PageRequest.of(0, 5));
+
+		assertThat(nativeCache("vetPages").asMap()).containsKeys(PageRequest.of(0, 5), PageRequest.of(1, 5));
+		assertThat(this.meterRegistry.get("cache.gets")
+			.tag("cache", "vetPages")
+			.tag("result", "hit")
+			.functionCounter()
+			.count()).isGreaterThanOrEqualTo(1);
+	}
+
+	@Test
+	void shouldPublishSecondLevelCacheRegionStatistics() {
+		assertThat(this.meterRegistry.find("hibernate.second.level.cache.requests").tag("result", "hit").meters())
+			.extracting(meter -> meter.getId().getTag("region"))
+			.contains("owners", "owner-pets", "pets", "pet-visits", "visits", "types", "specialties", "vets",
+					"vet-specialties");
+	}
+
+	@Test
+	void shouldUpdateCachedReferenceDataWhenItIsSaved() {
+		PetType type = new PetType();
+		type.setName("ferret");
+		type = this.types.save(type);
+		Integer id = type.getId();
+		try {
+			type.setName("polecat");
+			this.types.save(type);
+
+			assertThat(this.types.findById(id)).get().extracting(PetType::getName).isEqualTo("polecat");
+			assertThat(this.registry.findByName("polecat")).extracting(PetType::getId).isEqualTo(id);
+		}
+		finally {
+			this.types.delete(this.types.findById(id).orElseThrow());
+		}
+		assertThat(this.registry.findById(id)).isNull();
+	}
+
+	@Test
+	void shouldWeighValuesByTheEntitiesTheyHold() {
+		assertThat(CacheConfiguration.weigh(List.of(1, 2, 3))).isEqualTo(3);
+		assertThat(CacheConfiguration.weigh(new PageImpl<>(List.of(1, 2)))).isEqualTo(2);
+		assertThat(CacheConfiguration.weigh(List.of())).isEqualTo(1);
+		assertThat(CacheConfiguration.weigh("vet")).isEqualTo(1);
+	}
+
+	private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+		CaffeineCache cache = (CaffeineCache) this.cacheManager.getCache(name);
+		assertThat(cache).isNotNull();
+		return cache.getNativeCache();
+	}
+
+}
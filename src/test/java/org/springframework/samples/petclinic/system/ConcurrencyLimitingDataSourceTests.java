@@ -0,0 +1,121 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ConcurrencyLimitingDataSource}.
+ */
+class ConcurrencyLimitingDataSourceTests {
+
+	private final DataSource target = mock(DataSource.class);
+
+	private final ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(this.target, 2,
+			Duration.ofMillis(50));
+
+	@BeforeEach
+	void setup() throws SQLException {
+		given(this.target.getConnection()).willAnswer((invocation) -> mock(Connection.class));
+	}
+
+	@Test
+	void shouldHandOutConnectionsUpToTheLimit() throws SQLException {
+		this.dataSource.getConnection();
+		this.dataSource.getConnection();
+
+		assertThat(this.dataSource.getAvailablePermits()).isZero();
+		assertThatExceptionOfType(SQLTransientConnectionException.class).isThrownBy(this.dataSource::getConnection)
+			.withMessageContaining("2 in use");
+		verify(this.target, times(2)).getConnection();
+	}
+
+	@Test
+	void shouldReturnThePermitOnceWhenTheConnectionIsClosed() throws SQLException {
+		Connection connection = this.dataSource.getConnection();
+
+		connection.close();
+		connection.close();
+
+		assertThat(this.dataSource.getAvailablePermits()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldDelegateToThePooledConnection() throws SQLException {
+		Connection pooled = mock(Connection.class);
+		given(this.target.getConnection()).willReturn(pooled);
+		Connection connection = this.dataSource.getConnection();
+
+		connection.setAutoCommit(false);
+		connection.close();
+
+		verify(pooled).setAutoCommit(false);
+		verify(pooled).close();
+		assertThat(connection).isEqualTo(connection).isNotEqualTo(pooled);
+	}
+
+	@Test
+	void shouldReturnThePermitWhenThePoolFails() throws SQLException {
+		willThrow(new SQLTransientConnectionException("pool exhausted")).given(this.target).getConnection();
+
+		assertThatExceptionOfType(SQLTransientConnectionException.class).isThrownBy(this.dataSource::getConnection)
+			.withMessage("pool exhausted");
+		assertThat(this.dataSource.getAvailablePermits()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldQueueCallersOverTheLimitUntilAConnectionIsClosed() throws Exception {
+		ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(this.target, 1,
+				Duration.ofSeconds(10));
+		Connection first = dataSource.getConnection();
+		Connection[] second = new Connection[1];
+		Thread waiter = new Thread(() -> {
+			try {
+				second[0] = dataSource.getConnection();
+			}
+			catch (SQLException ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+		waiter.start();
+		while (dataSource.getQueueLength() == 0) {
+			Thread.onSpinWait();
+		}
+
+		first.close();
+		waiter.join(5000);
+
+		assertThat(second[0]).isNotNull();
+		assertThat(dataSource.getQueueLength()).isZero();
+	}
+
+}
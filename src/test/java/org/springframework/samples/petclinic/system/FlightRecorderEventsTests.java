@@ -0,0 +1,164 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatException;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.samples.petclinic.system.FlightRecorderEvents.HandlerEvent;
+import org.springframework.samples.petclinic.system.FlightRecorderEvents.RepositoryEvent;
+import org.springframework.samples.petclinic.system.FlightRecorderEvents.ViewRenderEvent;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+/**
+ * Tests for {@link FlightRecorderInterceptor} and {@link RepositoryEventInterceptor}.
+ */
+class FlightRecorderEventsTests {
+
+	@TempDir
+	Path directory;
+
+	private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new RecordedController())
+		.setSingleView((model, request, response) -> response.getWriter().write("rendered"))
+		.addInterceptors(new FlightRecorderInterceptor())
+		.build();
+
+	@Test
+	void shouldRecordTheHandlerAndItsView() throws Exception {
+		List<RecordedEvent> events = record(() -> this.mvc.perform(get("/owners/6")));
+
+		assertThat(events).extracting((event) -> event.getEventType().getName())
+			.containsExactly("org.springframework.samples.petclinic.Handler",
+					"org.springframework.samples.petclinic.ViewRender");
+		RecordedEvent handler = events.get(0);
+		assertThat(handler.getString("handler")).isEqualTo("RecordedController.owner");
+		assertThat(handler.getString("method")).isEqualTo("GET");
+		assertThat(handler.getString("uri")).isEqualTo("/owners/{ownerId}");
+		assertThat(handler.getLong("ownerId")).isEqualTo(6);
+		assertThat(handler.getString("exception")).isNull();
+		RecordedEvent view = events.get(1);
+		assertThat(view.getString("view")).isEqualTo("owners/ownerDetails");
+		assertThat(view.getString("handler")).isEqualTo("RecordedController.owner");
+		assertThat(view.getStartTime()).isAfterOrEqualTo(handler.getEndTime());
+	}
+
+	@Test
+	void shouldRecordHandlersThatFail() throws Exception {
+		List<RecordedEvent> events = record(
+				() -> assertThatException().isThrownBy(() -> this.mvc.perform(get("/oups"))));
+
+		assertThat(events).singleElement().satisfies((event) -> {
+			assertThat(event.getString("handler")).isEqualTo("RecordedController.oups");
+			assertThat(event.getLong("ownerId")).isZero();
+			assertThat(event.getString("exception")).isEqualTo(IllegalStateException.class.getName());
+		});
+	}
+
+	@Test
+	void shouldRecordRepositoryCallsWithTheirIdAndRows() throws Exception {
+		ProxyFactory proxyFactory = new ProxyFactory(new Names());
+		proxyFactory.addAdvice(new RepositoryEventInterceptor(NameRepository.class, Integer.class));
+		NameRepository repository = (NameRepository) proxyFactory.getProxy();
+
+		List<RecordedEvent> events = record(() -> {
+			repository.findById(3);
+			repository.findAll();
+		});
+
+		assertThat(events).extracting((event) -> event.getString("repository"))
+			.containsOnly(NameRepository.class.getSimpleName());
+		assertThat(events).extracting((event) -> event.getString("method")).containsExactly("findById", "findAll");
+		assertThat(events).extracting((event) -> event.getLong("entityId")).containsExactly(3L, 0L);
+		assertThat(events).extracting((event) -> event.getLong("rows")).containsExactly(1L, 2L);
+	}
+
+	private List<RecordedEvent> record(ThrowingRunnable action) throws Exception {
+		try (Recording recording = new Recording()) {
+			recording.enable(HandlerEvent.class).withThreshold(Duration.ZERO);
+			recording.enable(ViewRenderEvent.class).withThreshold(Duration.ZERO);
+			recording.enable(RepositoryEvent.class).withThreshold(Duration.ZERO);
+			recording.start();
+			action.run();
+			recording.stop();
+			Path file = this.directory.resolve("recording.jfr");
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file)
+				.stream()
+				.filter((event) -> event.getEventType().getName().startsWith("org.springframework.samples.petclinic."))
+				.toList();
+		}
+	}
+
+	interface ThrowingRunnable {
+
+		void run() throws Exception;
+
+	}
+
+	interface NameRepository {
+
+		Optional<String> findById(Integer id);
+
+		List<String> findAll();
+
+	}
+
+	static class Names implements NameRepository {
+
+		@Override
+		public Optional<String> findById(Integer id) {
+			return Optional.of("Leo");
+		}
+
+		@Override
+		public List<String> findAll() {
+			return List.of("Leo", "Basil");
+		}
+
+	}
+
+	@Controller
+	static class RecordedController {
+
+		@GetMapping("/owners/{ownerId}")
+		String owner(@PathVariable int ownerId) {
+			return "owners/ownerDetails";
+		}
+
+		@GetMapping("/oups")
+		String oups() {
+			throw new IllegalStateException("Expected");
+		}
+
+	}
+
+}
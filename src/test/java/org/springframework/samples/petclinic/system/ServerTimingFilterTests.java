@@ -0,0 +1,124 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.system.SqlStatisticsProperties.Budget;
+import org.springframework.stereotype.Controller;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * Tests for {@link ServerTimingFilter} and {@link ServerTimingInterceptor}.
+ */
+class ServerTimingFilterTests {
+
+	private static final String DURATION = "\\d+\\.\\d";
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new TimedController())
+		.setSingleView((model, request, response) -> response.getWriter().write("rendered"))
+		.addFilters(
+				new SqlStatisticsFilter(this.registry,
+						new SqlStatisticsProperties(new Budget(null, null, null), Map.of())),
+				new ServerTimingFilter(this.registry, true))
+		.addInterceptors(new ServerTimingInterceptor())
+		.build();
+
+	@Test
+	void shouldReportTheHandlerTheDatabaseAndTheView() throws Exception {
+		this.mvc.perform(get("/page"))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Server-Timing",
+					matchesPattern("total;dur=" + DURATION + ", handler;dur=" + DURATION
+							+ ";desc=\"TimedController.page\", db;dur=2\\.0, hydrate;dur=0\\.5, view;dur="
+							+ DURATION)));
+	}
+
+	@Test
+	void shouldReportResponseBodiesWithoutAView() throws Exception {
+		this.mvc.perform(get("/body"))
+			.andExpect(header().string("Server-Timing", matchesPattern("total;dur=" + DURATION + ", handler;dur="
+					+ DURATION + ";desc=\"TimedController.body\", db;dur=0\\.0, hydrate;dur=0\\.0")));
+	}
+
+	@Test
+	void shouldPublishTheNumbersOfTheHeader() throws Exception {
+		String header = this.mvc.perform(get("/page")).andReturn().getResponse().getHeader("Server-Timing");
+
+		assertThat(header).isNotNull();
+		for (String phase : header.split(", ")) {
+			String name = phase.substring(0, phase.indexOf(';'));
+			String duration = phase.split(";")[1].substring("dur=".length());
+			long tenths = (long) this.registry.get("petclinic.request.phase")
+				.tags("handler", "TimedController.page", "phase", name)
+				.timer()
+				.totalTime(TimeUnit.NANOSECONDS) / 100_000;
+			assertThat(tenths / 10 + "." + tenths % 10).as(name).isEqualTo(duration);
+		}
+	}
+
+	@Test
+	void shouldKeepTheMetersWithoutTheHeader() throws Exception {
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new TimedController())
+			.setSingleView((model, request, response) -> response.getWriter().write("rendered"))
+			.addFilters(new ServerTimingFilter(this.registry, false))
+			.addInterceptors(new ServerTimingInterceptor())
+			.build();
+
+		mvc.perform(get("/body")).andExpect(status().isOk()).andExpect(header().doesNotExist("Server-Timing"));
+
+		assertThat(this.registry.get("petclinic.request.phase")
+			.tags("handler", "TimedController.body", "phase", "handler")
+			.timer()
+			.count()).isEqualTo(1);
+	}
+
+	@Controller
+	static class TimedController {
+
+		@GetMapping("/page")
+		String page() {
+			SqlStatistics statistics = SqlStatistics.current();
+			assertThat(statistics).isNotNull();
+			statistics.recordStatement(TimeUnit.MILLISECONDS.toNanos(2));
+			statistics.recordResultSet(TimeUnit.MICROSECONDS.toNanos(500));
+			return "page";
+		}
+
+		@GetMapping("/body")
+		@ResponseBody
+		String body() {
+			return "body";
+		}
+
+	}
+
+}
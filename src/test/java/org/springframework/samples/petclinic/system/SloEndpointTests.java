@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.system.SloEndpoint.RouteStatus;
+import org.springframework.samples.petclinic.system.SloEndpoint.SloReport;
+import org.springframework.samples.petclinic.system.SloProperties.Objective;
+
+/**
+ * Tests for {@link SloMeterFilter} and {@link SloEndpoint}.
+ */
+class SloEndpointTests {
+
+	private final SloProperties properties = new SloProperties(List.of("OwnerController"),
+			List.of(Duration.ofMillis(100), Duration.ofSeconds(1)), List.of(0.5), false, Duration.ofMinutes(2),
+			new Objective(Duration.ofMillis(500), 0.99),
+			Map.of("/owners/{ownerId}", new Objective(Duration.ofMillis(200), null)));
+
+	private final SloMeterFilter filter = new SloMeterFilter(this.properties,
+			() -> Set.of("/owners", "/owners/{ownerId}"));
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	private final SloEndpoint endpoint = new SloEndpoint(this.registry, this.properties, this.filter);
+
+	SloEndpointTests() {
+		this.registry.config().meterFilter(this.filter);
+	}
+
+	@Test
+	void shouldPublishTheObjectiveOfEachRouteWithItsHistogram() {
+		record("/owners/{ownerId}", "SUCCESS", 150, 100);
+
+		HistogramSnapshot snapshot = timer("/owners/{ownerId}", "SUCCESS").takeSnapshot();
+		assertThat(snapshot.histogramCounts()).extracting((bucket) -> bucket.bucket(TimeUnit.MILLISECONDS))
+			.containsExactly(100.0, 200.0, 1000.0);
+		assertThat(snapshot.histogramCounts()).extracting(CountAtBucket::count).containsExactly(0.0, 100.0, 100.0);
+		assertThat(snapshot.percentileValues()).extracting(ValueAtPercentile::percentile).containsExactly(0.5, 0.99);
+	}
+
+	@Test
+	void shouldLeaveOtherRoutesAlone() {
+		record("/oups", "SERVER_ERROR", 150, 1);
+
+		HistogramSnapshot snapshot = timer("/oups", "SERVER_ERROR").takeSnapshot();
+		assertThat(snapshot.histogramCounts()).isEmpty();
+		assertThat(snapshot.percentileValues()).isEmpty();
+	}
+
+	@Test
+	void shouldReportTheRoutesAboveTheirObjective() {
+		record("/owners/{ownerId}", "SUCCESS", 300, 100);
+		record("/owners", "SUCCESS", 300, 100);
+		record("/owners/{ownerId}", "CLIENT_ERROR", 5, 10);
+
+		SloReport report = this.endpoint.breaches();
+
+		assertThat(report.routes()).isEqualTo(2);
+		assertThat(report.breaching()).singleElement().satisfies((status) -> {
+			assertThat(status.uri()).isEqualTo("/owners/{ownerId}");
+			assertThat(status.method()).isEqualTo("GET");
+			assertThat(status.objectiveMillis()).isEqualTo(200);
+			assertThat(status.target()).isEqualTo(0.99);
+			assertThat(status.percentileMillis()).isGreaterThan(200);
+			assertThat(status.count()).isEqualTo(100);
+		});
+	}
+
+	@Test
+	void shouldNotReportFailedRequests() {
+		record("/owners/{ownerId}", "SERVER_ERROR", 5000, 10);
+
+		assertThat(this.endpoint.breaches().breaching()).extracting(RouteStatus::uri).isEmpty();
+	}
+
+	private void record(String uri, String outcome, long millis, int times) {
+		Timer timer = timer(uri, outcome);
+		for (int i = 0; i < times; i++) {
+			timer.record(millis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private Timer timer(String uri, String outcome) {
+		return Timer.builder(SloMeterFilter.METRIC)
+			.tags("method", "GET", "uri", uri, "outcome", outcome, "status",
+					outcome.equals("SUCCESS") ? "200" : outcome.equals("CLIENT_ERROR") ? "404" : "500")
+			.register(this.registry);
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.system.SlowQueryLog.QuerySummary;
+import org.springframework.samples.petclinic.system.SlowQueryLog.Sample;
+
+/**
+ * Tests for {@link SlowQueryLog}.
+ */
+class SlowQueryLogTests {
+
+	private final SlowQueryLog log = new SlowQueryLog(new SlowQueryProperties(Duration.ofMillis(100), 10, 2, true, 20));
+
+	@Test
+	void shouldReplaceLiteralsButNotIdentifiers() {
+		assertThat(SlowQueryLog.fingerprint("select o1_0.id from owners o1_0\n  where o1_0.last_name like 'D%'"
+				+ " and o1_0.city = 'O''Hare' and o1_0.id > 42 and o1_0.id < 3.5"))
+			.isEqualTo("select o1_0.id from owners o1_0 where o1_0.last_name like ? and o1_0.city = ?"
+					+ " and o1_0.id > ? and o1_0.id < ?");
+	}
+
+	@Test
+	void shouldCollapseInLists() {
+		assertThat(SlowQueryLog.fingerprint("select * from pets p1_0 where p1_0.owner_id in (?,?,?)"))
+			.isEqualTo(SlowQueryLog.fingerprint("select * from pets p1_0 where p1_0.owner_id in ( ?, ? )"))
+			.isEqualTo("select * from pets p1_0 where p1_0.owner_id in (?)");
+	}
+
+	@Test
+	void shouldAggregateExecutionsByFingerprint() {
+		for (int i = 1; i <= 100; i++) {
+			this.log.record("select * from owners where id = " + i, TimeUnit.MILLISECONDS.toNanos(i), null);
+		}
+		this.log.record("select * from vets", TimeUnit.MILLISECONDS.toNanos(1), null);
+
+		List<QuerySummary> top = this.log.top(10);
+
+		assertThat(top).extracting(QuerySummary::fingerprint)
+			.containsExactly("select * from owners where id = ?", "select * from vets");
+		QuerySummary owners = top.get(0);
+		assertThat(owners.count()).isEqualTo(100);
+		assertThat(owners.slow()).isEqualTo(1);
+		assertThat(owners.totalMillis()).isEqualTo(5050);
+		assertThat(owners.meanMillis()).isEqualTo(50.5);
+		assertThat(owners.maxMillis()).isEqualTo(100);
+		assertThat(owners.p99Millis()).isEqualTo(99);
+		assertThat(this.log.top(1)).hasSize(1);
+	}
+
+	@Test
+	void shouldKeepTheMostRecentSlowExecutionsWithTheirParameters() {
+		for (int i = 1; i <= 3; i++) {
+			this.log.record("select * from owners where last_name = ? and id = ?", TimeUnit.MILLISECONDS.toNanos(150),
+					List.of("x".repeat(100), i));
+		}
+
+		List<Sample> samples = this.log.top(1).get(0).samples();
+
+		assertThat(samples).hasSize(2);
+		assertThat(samples).extracting((sample) -> sample.parameters().get(1)).containsExactly("3", "2");
+		assertThat(samples.get(0).parameters().get(0)).isEqualTo("'" + "x".repeat(64) + "...'");
+	}
+
+	@Test
+	void shouldStartAfreshWhenCleared() {
+		this.log.record("select * from vets", 1, null);
+
+		this.log.clear();
+
+		assertThat(this.log.top(10)).isEmpty();
+	}
+
+}
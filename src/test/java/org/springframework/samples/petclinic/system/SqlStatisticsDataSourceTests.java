@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.samples.petclinic.system.SlowQueryLog.Sample;
+import org.springframework.samples.petclinic.system.SqlStatistics.Scope;
+
+/**
+ * Tests for {@link SqlStatisticsDataSource}.
+ */
+class SqlStatisticsDataSourceTests {
+
+	private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+		.setName(UUID.randomUUID().toString())
+		.addScripts("db/h2/schema.sql", "db/h2/data.sql")
+		.build();
+
+	private final SqlStatisticsDataSource dataSource = new SqlStatisticsDataSource(this.database);
+
+	private final JdbcTemplate jdbc = new JdbcTemplate(this.dataSource);
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+	@Test
+	void shouldCountStatementsAndRows() {
+		SqlStatistics statistics = SqlStatistics.measure(() -> {
+			this.jdbc.queryForList("SELECT name FROM types", String.class);
+			this.jdbc.queryForList("SELECT id FROM owners WHERE last_name = ?", Integer.class, "Davis");
+		});
+
+		assertThat(statistics.getStatements()).isEqualTo(2);
+		assertThat(statistics.getRows()).isEqualTo(6 + 2);
+		assertThat(statistics.getTime()).isPositive();
+	}
+
+	@Test
+	void shouldCountABatchAsOneStatement() {
+		SqlStatistics statistics = SqlStatistics.measure(() -> this.jdbc.batchUpdate(
+				"UPDATE owners SET city = ? WHERE id = ?",
+				List.of(new Object[] { "Madison", 1 }, new Object[] { "Madison", 2 }, new Object[] { "Madison", 3 })));
+
+		assertThat(statistics.getStatements()).isEqualTo(1);
+		assertThat(statistics.getRows()).isZero();
+	}
+
+	@Test
+	void shouldMeasureConnectionsCheckedOutBeforeTheStatisticsWereBound() throws SQLException {
+		SqlStatistics statistics = new SqlStatistics();
+		try (Connection connection = this.dataSource.getConnection();
+				PreparedStatement statement = connection.prepareStatement("SELECT id FROM vets")) {
+			try (Scope scope = statistics.bind(); ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					// read all rows
+				}
+			}
+		}
+
+		assertThat(statistics.getStatements()).isEqualTo(1);
+		assertThat(statistics.getRows()).isEqualTo(6);
+	}
+
+	@Test
+	void shouldNotRecordWithoutStatistics() {
+		SqlStatistics outer = SqlStatistics.measure(() -> {
+			SqlStatistics inner = SqlStatistics.measure(() -> this.jdbc.queryForList("SELECT id FROM vets"));
+			assertThat(inner.getStatements()).isEqualTo(1);
+		});
+		this.jdbc.queryForList("SELECT id FROM vets");
+
+		assertThat(outer.getStatements()).isZero();
+		assertThat(SqlStatistics.current()).isNull();
+	}
+
+	@Test
+	void shouldRecordPreparedStatementsInTheSlowQueryLog() {
+		SlowQueryLog slowQueries = new SlowQueryLog(new SlowQueryProperties(Duration.ZERO, 10, 2, true, 10));
+		JdbcTemplate jdbc = new JdbcTemplate(new SqlStatisticsDataSource(this.database, slowQueries));
+
+		jdbc.queryForList("SELECT id FROM owners WHERE last_name = ? AND city = ?", Integer.class, "Davis", "Madison");
+		jdbc.queryForList("SELECT id FROM owners WHERE last_name = ? AND city = ?", Integer.class, "Black", null);
+
+		assertThat(slowQueries.top(10)).singleElement().satisfies((query) -> {
+			assertThat(query.fingerprint()).isEqualTo("SELECT id FROM owners WHERE last_name = ? AND city = ?");
+			assertThat(query.count()).isEqualTo(2);
+			assertThat(query.samples()).extracting(Sample::parameters)
+				.containsExactly(List.of("'Black'", "null"), List.of("'Davis'", "'Madison'"));
+		});
+	}
+
+	@Test
+	void shouldOnlyKeepTheParametersOfSlowExecutionsWhenEnabled() {
+		SlowQueryLog fast = new SlowQueryLog(new SlowQueryProperties(Duration.ofHours(1), 10, 2, true, 10));
+		SlowQueryLog withoutParameters = new SlowQueryLog(new SlowQueryProperties(Duration.ZERO, 10, 2, false, 10));
+
+		for (SlowQueryLog slowQueries : List.of(fast, withoutParameters)) {
+			new JdbcTemplate(new SqlStatisticsDataSource(this.database, slowQueries))
+				.queryForList("SELECT id FROM owners WHERE last_name = ?", Integer.class, "Davis");
+		}
+
+		assertThat(fast.top(10)).singleElement().satisfies((query) -> {
+			assertThat(query.count()).isEqualTo(1);
+			assertThat(query.samples()).isEmpty();
+		});
+		assertThat(withoutParameters.top(10)).singleElement()
+			.satisfies((query) -> assertThat(query.samples()).singleElement()
+				.satisfies((sample) -> assertThat(sample.parameters()).isEmpty()));
+	}
+
+}
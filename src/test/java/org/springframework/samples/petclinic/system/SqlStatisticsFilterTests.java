@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.samples.petclinic.system.SqlStatisticsProperties.Budget;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * Tests for {@link SqlStatisticsFilter}.
+ */
+class SqlStatisticsFilterTests {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	private final SqlStatisticsFilter filter = new SqlStatisticsFilter(this.registry, new SqlStatisticsProperties(
+			new Budget(10L, null, Duration.ofSeconds(1)), Map.of("/owners/{ownerId}", new Budget(2L, 100L, null))));
+
+	@Test
+	void shouldPublishTheStatisticsOfTheRequestPerEndpoint() throws Exception {
+		MockHttpServletRequest request = get("/owners/6");
+
+		this.filter.doFilter(request, new MockHttpServletResponse(), handler("/owners/{ownerId}", 2, 12));
+
+		assertThat(request.getAttribute(SqlStatistics.ATTRIBUTE)).isInstanceOfSatisfying(SqlStatistics.class,
+				(statistics) -> assertThat(statistics.getStatements()).isEqualTo(2));
+		assertThat(this.registry.get("petclinic.sql.statements")
+			.tags("method", "GET", "uri", "/owners/{ownerId}")
+			.summary()
+			.totalAmount()).isEqualTo(2);
+		assertThat(this.registry.get("petclinic.sql.rows").tag("uri", "/owners/{ownerId}").summary().totalAmount())
+			.isEqualTo(12);
+		assertThat(this.registry.get("petclinic.sql.time").tag("uri", "/owners/{ownerId}").timer().count())
+			.isEqualTo(1);
+		assertThat(this.registry.find("petclinic.sql.budget.exceeded").counter()).isNull();
+		assertThat(SqlStatistics.current()).isNull();
+	}
+
+	@Test
+	void shouldCountRequestsOverTheBudgetOfTheirEndpoint() throws Exception {
+		this.filter.doFilter(get("/owners/6"), new MockHttpServletResponse(), handler("/owners/{ownerId}", 3, 12));
+
+		assertThat(this.registry.get("petclinic.sql.budget.exceeded")
+			.tags("uri", "/owners/{ownerId}", "limit", "statements")
+			.counter()
+			.count()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldFallBackToTheDefaultBudget() throws Exception {
+		this.filter.doFilter(get("/vets.html"), new MockHttpServletResponse(), handler("/vets.html", 3, 500));
+		assertThat(this.registry.find("petclinic.sql.budget.exceeded").counter()).isNull();
+
+		this.filter.doFilter(get("/vets.html"), new MockHttpServletResponse(), handler("/vets.html", 11, 500));
+		assertThat(this.registry.get("petclinic.sql.budget.exceeded")
+			.tags("uri", "/vets.html", "limit", "statements")
+			.counter()
+			.count()).isEqualTo(1);
+	}
+
+	private MockHttpServletRequest get(String path) {
+		return new MockHttpServletRequest("GET", path);
+	}
+
+	/**
+	 * A handler that maps the request to the given pattern and records the given
+	 * statements and rows.
+	 */
+	private FilterChain handler(String pattern, int statements, int rows) {
+		return (request, response) -> {
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+			SqlStatistics statistics = SqlStatistics.current();
+			assertThat(statistics).isNotNull();
+			for (int i = 0; i < statements; i++) {
+				statistics.recordStatement(1000);
+			}
+			for (int i = 0; i < rows; i++) {
+				statistics.recordFetch(true, 10);
+			}
+		};
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Tests for {@link SyntheticDataGenerator}.
+ */
+class SyntheticDataGeneratorTests {
+
+	private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 6, 1);
+
+	private final EmbeddedDatabase database = createDatabase();
+
+	private final JdbcTemplate jdbc = new JdbcTemplate(this.database);
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+	@Test
+	void shouldAddTheConfiguredNumberOfOwnersAndVets() throws SQLException {
+		Map<String, Long> rows = generator(this.database, 42).generate();
+
+		assertThat(rows).containsEntry("owners", 500L).containsEntry("vets", 7L);
+		assertThat(count("owners")).isEqualTo(10 + 500);
+		assertThat(count("vets")).isEqualTo(6 + 7);
+		assertThat(count("pets")).isEqualTo(13 + rows.get("pets"));
+		assertThat(count("visits")).isEqualTo(4 + rows.get("visits"));
+		assertThat(rows.get("pets")).isBetween(700L, 1100L);
+		assertThat(rows.get("visits")).isBetween(2 * rows.get("pets"), 6 * rows.get("pets"));
+	}
+
+	@Test
+	void shouldGiveEachPetOfAnOwnerItsOwnName() throws SQLException {
+		generator(this.database, 42).generate();
+
+		assertThat(this.jdbc.queryForList("SELECT owner_id, name FROM pets GROUP BY owner_id, name HAVING COUNT(*) > 1",
+				Object.class))
+			.isEmpty();
+	}
+
+	@Test
+	void shouldNotScheduleVisitsBeforeThePetWasBorn() throws SQLException {
+		generator(this.database, 42).generate();
+
+		assertThat(this.jdbc.queryForObject(
+				"SELECT COUNT(*) FROM visits v JOIN pets p ON p.id = v.pet_id WHERE v.visit_date < p.birth_date",
+				Integer.class))
+			.isZero();
+		assertThat(this.jdbc.queryForObject("SELECT COUNT(*) FROM visits WHERE visit_date > ?", Integer.class,
+				REFERENCE_DATE))
+			.isPositive();
+	}
+
+	@Test
+	void shouldMoveTheSequencesPastTheNewIds() throws SQLException {
+		generator(this.database, 42).generate();
+
+		for (String table : List.of("vets", "owners", "pets", "visits")) {
+			int max = this.jdbc.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+			int next = this.jdbc.queryForObject("SELECT NEXT VALUE FOR " + table + "_seq", Integer.class);
+			assertThat(next - 49).as(table).isGreaterThan(max);
+		}
+	}
+
+	@Test
+	void shouldWriteTheSameRowsForTheSameSeed() throws SQLException {
+		EmbeddedDatabase other = createDatabase();
+		try {
+			generator(this.database, 42).generate();
+			generator(other, 42).generate();
+
+			for (String sql : List.of("SELECT * FROM owners ORDER BY id", "SELECT * FROM pets ORDER BY id",
+					"SELECT * FROM visits ORDER BY id",
+					"SELECT * FROM vet_specialties ORDER BY vet_id, specialty_id")) {
+				assertThat(new JdbcTemplate(other).queryForList(sql)).isEqualTo(this.jdbc.queryForList(sql));
+			}
+		}
+		finally {
+			other.shutdown();
+		}
+	}
+
+	@Test
+	void shouldWriteDifferentRowsForAnotherSeed() throws SQLException {
+		EmbeddedDatabase other = createDatabase();
+		try {
+			generator(this.database, 42).generate();
+			generator(other, 7).generate();
+
+			String sql = "SELECT * FROM pets ORDER BY id";
+			assertThat(new JdbcTemplate(other).queryForList(sql)).isNotEqualTo(this.jdbc.queryForList(sql));
+		}
+		finally {
+			other.shutdown();
+		}
+	}
+
+	private int count(String table) {
+		return this.jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+	}
+
+	private static SyntheticDataGenerator generator(EmbeddedDatabase database, long seed) {
+		// A small batch size, so that full and partial batches are both written
+		return new SyntheticDataGenerator(database, new SyntheticDataProperties(500, 7, 4, seed, null, 64),
+				REFERENCE_DATE);
+	}
+
+	private static EmbeddedDatabase createDatabase() {
+		return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+			.setName(UUID.randomUUID().toString())
+			.addScripts("db/h2/schema.sql", "db/h2/data.sql")
+			.build();
+	}
+
+}
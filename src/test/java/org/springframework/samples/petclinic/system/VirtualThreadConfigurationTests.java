@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+
+/**
+ * Tests for the virtual-thread mode set up by {@link VirtualThreadConfiguration}.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(classes = PetClinicApplication.class,
+		properties = { "spring.threads.virtual.enabled=true", "spring.datasource.hikari.maximum-pool-size=3" })
+class VirtualThreadConfigurationTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private AsyncTaskExecutor applicationTaskExecutor;
+
+	@Autowired
+	private VirtualThreadPinningMonitor pinningMonitor;
+
+	@Autowired
+	private OwnerRepository owners;
+
+	@Test
+	void shouldLimitConnectionsToThePoolSize() {
+		assertThat(limited().getAvailablePermits()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldRunAsyncWorkOnVirtualThreads() {
+		assertThat(this.applicationTaskExecutor).isInstanceOfSatisfying(SimpleAsyncTaskExecutor.class,
+				(executor) -> assertThat(executor.isActive()).isTrue());
+		assertThat(this.pinningMonitor.isRunning()).isTrue();
+	}
+
+	@Test
+	void shouldServeMoreConcurrentQueriesThanThePoolHolds() throws Exception {
+		Callable<Integer> query = () -> this.owners.findAll(PageRequest.of(0, 5)).getNumberOfElements();
+		List<Future<Integer>> results = IntStream.range(0, 50)
+			.mapToObj((i) -> this.applicationTaskExecutor.submit(query))
+			.toList();
+		for (Future<Integer> result : results) {
+			assertThat(result.get()).isEqualTo(5);
+		}
+		assertThat(limited().getAvailablePermits()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldAttributePinningToTheInnermostDataAccessLayer() {
+		assertThat(VirtualThreadPinningMonitor.classify(List.of("java.lang.Object.wait:-1",
+				"org.h2.engine.SessionLocal.lock:10", "org.hibernate.internal.SessionImpl.find:20")))
+			.isEqualTo("jdbc");
+		assertThat(VirtualThreadPinningMonitor
+			.classify(List.of("java.lang.Object.wait:-1", "org.hibernate.internal.SessionImpl.find:20")))
+			.isEqualTo("hibernate");
+		assertThat(VirtualThreadPinningMonitor.classify(List.of("java.lang.Object.wait:-1"))).isEqualTo("other");
+	}
+
+	private ConcurrencyLimitingDataSource limited() {
+		// the pool is limited first, then measured by the SqlStatisticsConfiguration
+		assertThat(this.dataSource).isInstanceOf(SqlStatisticsDataSource.class);
+		return (ConcurrencyLimitingDataSource) ((SqlStatisticsDataSource) this.dataSource).getTargetDataSource();
+	}
+
+}
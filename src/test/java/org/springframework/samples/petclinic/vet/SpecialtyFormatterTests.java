@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.samples.petclinic.model.ReferenceDataChangedEvent;
+
+/**
+ * Test class for {@link SpecialtyFormatter} and the {@link SpecialtyRegistry} it reads
+ * from.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage
+class SpecialtyFormatterTests {
+
+	@Mock
+	private SpecialtyRepository specialties;
+
+	private SpecialtyRegistry registry;
+
+	private SpecialtyFormatter formatter;
+
+	@BeforeEach
+	void setup() {
+		given(this.specialties.findSpecialties())
+			.willReturn(List.of(specialty(1, "dentistry"), specialty(2, "radiology")));
+		this.registry = new SpecialtyRegistry(this.specialties);
+		this.registry.afterSingletonsInstantiated();
+		this.formatter = new SpecialtyFormatter(this.registry);
+	}
+
+	@Test
+	void shouldParsePreloadedSpecialtiesWithoutQuerying() throws ParseException {
+		assertThat(this.formatter.parse("radiology", Locale.ENGLISH)).extracting(Specialty::getId).isEqualTo(2);
+		assertThat(this.formatter.parse("dentistry", Locale.ENGLISH)).extracting(Specialty::getId).isEqualTo(1);
+		assertThat(this.formatter.print(specialty(3, "surgery"), Locale.ENGLISH)).isEqualTo("surgery");
+		then(this.specialties).should(times(1)).findSpecialties();
+	}
+
+	@Test
+	void shouldThrowParseExceptionForUnknownSpecialty() {
+		assertThatExceptionOfType(ParseException.class)
+			.isThrownBy(() -> this.formatter.parse("surgery", Locale.ENGLISH));
+	}
+
+	@Test
+	void shouldParseNewSpecialtiesOnceTheRegistryReloads() throws ParseException {
+		given(this.specialties.findSpecialties())
+			.willReturn(List.of(specialty(1, "dentistry"), specialty(2, "radiology"), specialty(3, "surgery")));
+
+		this.registry.onChanged(new ReferenceDataChangedEvent(Specialty.class));
+
+		assertThat(this.formatter.parse("surgery", Locale.ENGLISH)).extracting(Specialty::getId).isEqualTo(3);
+	}
+
+	private static Specialty specialty(int id, String name) {
+		Specialty specialty = new Specialty();
+		specialty.setId(id);
+		specialty.setName(name);
+		return specialty;
+	}
+
+}
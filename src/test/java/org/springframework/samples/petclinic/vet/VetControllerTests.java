@@ -18,20 +18,28 @@ package org.springframework.samples.petclinic.vet;
 
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -97,4 +105,30 @@ class VetControllerTests {
 			.andExpect(jsonPath("$.vetList[0].id").value(1));
 	}
 
+	@Nested
+	@TestPropertySource(properties = "petclinic.vets.pagination=keyset")
+	class KeysetPagination {
+
+		// Injected from the context of this class rather than the enclosing one
+		@Autowired
+		private MockMvc mockMvc;
+
+		@Autowired
+		private VetRepository vets;
+
+		@Test
+		void testShowVetListHtmlLinksToNextWindow() throws Exception {
+			given(vets.findAllByOrderByLastNameAscIdAsc(eq(ScrollPosition.keyset()), any(Limit.class)))
+				.willReturn(Window.from(Lists.newArrayList(james(), helen()), ScrollPosition::offset, true));
+
+			mockMvc.perform(get("/vets.html"))
+				.andExpect(status().isOk())
+				.andExpect(model().attribute("listVets", hasSize(2)))
+				.andExpect(model().attribute("nextAfterName", is("Leary")))
+				.andExpect(model().attribute("nextAfterId", is(2)))
+				.andExpect(view().name("vets/vetList"));
+		}
+
+	}
+
 }